@@ -0,0 +1,184 @@
+package algorithms;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import algorithms.jfr.MSTEvents;
+import algorithms.metrics.MetricsSink;
+import algorithms.metrics.Op;
+import algorithms.models.AlgorithmResult;
+import algorithms.models.CompactGraph;
+import algorithms.models.Graph;
+
+/**
+ * Parallel Boruvka MST on a ForkJoinPool.
+ *
+ * Each round finds the cheapest edge leaving every component in parallel,
+ * contracts the components joined by those edges and drops edges that became
+ * internal. Ties are broken by edge id, so the tree is the same one Kruskal's
+ * stable sort selects.
+ */
+public class BoruvkaMST {
+
+    /** Edges handled by one leaf task of a parallel loop. */
+    private static final int GRAIN = 8192;
+
+    public static AlgorithmResult run(Graph graph) {
+        return run(graph, ForkJoinPool.commonPool());
+    }
+
+    public static AlgorithmResult run(Graph graph, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        MetricsSink metrics = MetricsSink.create();
+        CompactGraph g = graph.compact();
+        int n = g.vertexCount();
+        String engine = "boruvka/" + pool.getParallelism() + "t";
+
+        IntUnionFind uf = new IntUnionFind(n, metrics);
+        int[] comp = new int[n];
+        for (int v = 0; v < n; v++)
+            comp[v] = v;
+        AtomicIntegerArray best = new AtomicIntegerArray(n);
+
+        // Self-loops can never join two components
+        int[] active = new int[g.edgeCount()];
+        int activeCount = 0;
+        for (int e = 0; e < active.length; e++) {
+            if (g.from(e) != g.to(e))
+                active[activeCount++] = e;
+        }
+
+        int[] tree = new int[Math.max(0, n - 1)];
+        int treeSize = 0;
+        double total = 0.0;
+
+        while (activeCount > 0) {
+            int[] edges = active;
+            int count = activeCount;
+            metrics.add(Op.EDGE_SCAN, count);
+
+            // 1. Cheapest outgoing edge per component
+            for (int v = 0; v < n; v++)
+                best.set(v, -1);
+            pool.invoke(new RangeTask(0, count, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    int e = edges[i];
+                    int cu = comp[g.from(e)], cv = comp[g.to(e)];
+                    if (cu != cv) {
+                        offer(g, best, cu, e);
+                        offer(g, best, cv, e);
+                    }
+                }
+            }));
+
+            // 2. Contract along the chosen edges (in vertex order for determinism)
+            for (int c = 0; c < n; c++) {
+                int e = best.get(c);
+                if (e >= 0 && uf.union(g.from(e), g.to(e))) {
+                    tree[treeSize++] = e;
+                    total += g.weight(e);
+                }
+            }
+            for (int v = 0; v < n; v++)
+                comp[v] = uf.find(v);
+
+            // 3. Keep only edges that still cross components
+            activeCount = compact(pool, g, comp, edges, count, active = new int[count]);
+        }
+
+        long end = System.nanoTime();
+        double timeMs = (end - start) / 1_000_000.0;
+        MSTEvents.ResultAssembly assembly = new MSTEvents.ResultAssembly();
+        assembly.begin();
+        AlgorithmResult result = new AlgorithmResult(graph, tree, treeSize, uf.componentLabels(), total, metrics,
+                timeMs, engine);
+        assembly.finish(graph, engine);
+        return result;
+    }
+
+    /** Stores e as the best edge of component c if it is lighter than the current one. */
+    private static void offer(CompactGraph g, AtomicIntegerArray best, int c, int e) {
+        while (true) {
+            int current = best.get(c);
+            if (current >= 0 && !lighter(g, e, current))
+                return;
+            if (best.compareAndSet(c, current, e))
+                return;
+        }
+    }
+
+    /** Total order on edges: weight, then edge id. */
+    private static boolean lighter(CompactGraph g, int a, int b) {
+        double wa = g.weight(a), wb = g.weight(b);
+        return wa < wb || (wa == wb && a < b);
+    }
+
+    /**
+     * Parallel stable filter of edges[0..count) into out, keeping edges whose
+     * endpoints lie in different components. Returns the number kept.
+     */
+    private static int compact(ForkJoinPool pool, CompactGraph g, int[] comp,
+            int[] edges, int count, int[] out) {
+        int chunks = (count + GRAIN - 1) / GRAIN;
+        int[] kept = new int[chunks + 1];
+        pool.invoke(new RangeTask(0, chunks, (lo, hi) -> {
+            for (int c = lo; c < hi; c++) {
+                int k = 0;
+                for (int i = c * GRAIN, end = Math.min(count, i + GRAIN); i < end; i++) {
+                    int e = edges[i];
+                    if (comp[g.from(e)] != comp[g.to(e)])
+                        k++;
+                }
+                kept[c + 1] = k;
+            }
+        }, 1));
+        for (int c = 0; c < chunks; c++)
+            kept[c + 1] += kept[c];
+        pool.invoke(new RangeTask(0, chunks, (lo, hi) -> {
+            for (int c = lo; c < hi; c++) {
+                int k = kept[c];
+                for (int i = c * GRAIN, end = Math.min(count, i + GRAIN); i < end; i++) {
+                    int e = edges[i];
+                    if (comp[g.from(e)] != comp[g.to(e)])
+                        out[k++] = e;
+                }
+            }
+        }, 1));
+        return kept[chunks];
+    }
+
+    private interface RangeBody {
+        void apply(int lo, int hi);
+    }
+
+    /** Splits [lo, hi) in halves until a range is at most grain long. */
+    private static class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo, hi, grain;
+        private final RangeBody body;
+
+        RangeTask(int lo, int hi, RangeBody body) {
+            this(lo, hi, body, GRAIN);
+        }
+
+        RangeTask(int lo, int hi, RangeBody body, int grain) {
+            this.lo = lo;
+            this.hi = hi;
+            this.body = body;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= grain) {
+                body.apply(lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new RangeTask(lo, mid, body, grain), new RangeTask(mid, hi, body, grain));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import algorithms.metrics.MetricsSink;
+import algorithms.metrics.Op;
+
+/**
+ * Lock-free disjoint-set forest over vertex ids 0..n-1 that any number of
+ * threads may use at once; the int counterpart of IntUnionFind.
+ *
+ * Parent pointers live in an AtomicIntegerArray. find() halves paths with
+ * compareAndSet, so a lost race only skips one compression step. union()
+ * links the root with the smaller id under the other one with a single CAS
+ * on a root's parent slot and retries if that root was linked meanwhile;
+ * linking by id keeps the forest acyclic without a separate rank array.
+ *
+ * find() and union() report FIND and UNION calls (not path steps) to
+ * metrics from the calling thread, so give several threads MetricsSink.NONE
+ * or a thread-safe sink; connected() and componentLabels() are not reported.
+ */
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+    private final AtomicInteger components;
+    private final MetricsSink metrics;
+
+    public ConcurrentUnionFind(int n) {
+        this(n, MetricsSink.NONE);
+    }
+
+    public ConcurrentUnionFind(int n, MetricsSink metrics) {
+        this.metrics = metrics;
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++)
+            parent.set(i, i);
+        components = new AtomicInteger(n);
+    }
+
+    public int find(int x) {
+        metrics.inc(Op.FIND);
+        return root(x);
+    }
+
+    public boolean union(int a, int b) {
+        metrics.inc(Op.UNION);
+        metrics.add(Op.FIND, 2);
+        while (true) {
+            int rootA = root(a);
+            int rootB = root(b);
+            if (rootA == rootB)
+                return false;
+            if (rootA > rootB) {
+                int t = rootA;
+                rootA = rootB;
+                rootB = t;
+            }
+            // Fails only if rootA stopped being a root; then look again
+            if (parent.compareAndSet(rootA, rootA, rootB)) {
+                components.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * True if a and b are in the same set. A false answer can be outdated by
+     * a concurrent union by the time it is returned; a true one cannot.
+     */
+    public boolean connected(int a, int b) {
+        while (true) {
+            int rootA = root(a);
+            int rootB = root(b);
+            if (rootA == rootB)
+                return true;
+            // rootA still a root means the two sets were apart at that moment
+            if (parent.get(rootA) == rootA)
+                return false;
+        }
+    }
+
+    public int componentCount() {
+        return components.get();
+    }
+
+    /**
+     * Component label of every element, numbered from 0 in order of each
+     * set's smallest element. Call once no union is running.
+     */
+    public int[] componentLabels() {
+        int n = parent.length();
+        int[] labelOfRoot = new int[n];
+        Arrays.fill(labelOfRoot, -1);
+        int[] label = new int[n];
+        int next = 0;
+        for (int v = 0; v < n; v++) {
+            int root = v;
+            while (parent.get(root) != root)
+                root = parent.get(root);
+            if (labelOfRoot[root] < 0)
+                labelOfRoot[root] = next++;
+            label[v] = labelOfRoot[root];
+        }
+        return label;
+    }
+
+    /** Root of x with CAS path halving. */
+    private int root(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x)
+                return x;
+            int grandparent = parent.get(p);
+            if (p != grandparent)
+                parent.compareAndSet(x, p, grandparent);
+            x = grandparent;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import algorithms.models.CompactGraph;
+
+/**
+ * Connectivity checks over the CSR adjacency, for callers that need the
+ * answer before (or without) running an engine; engine results report their
+ * components themselves.
+ *
+ * The serial check is a plain BFS from vertex 0. The parallel check is a
+ * level-synchronous, direction-optimizing BFS: small frontiers are expanded
+ * top-down (frontier vertices claim unvisited neighbours with a CAS), and
+ * once the frontier's edges outnumber the unexplored ones / ALPHA the search
+ * switches to bottom-up (every unvisited vertex looks for a parent in the
+ * frontier), returning to top-down when the frontier drops below V / BETA.
+ */
+public final class Connectivity {
+
+    /** Vertices or frontier entries handled by one leaf task. */
+    private static final int GRAIN = 4096;
+
+    /** Switch thresholds from Beamer et al., "Direction-Optimizing Breadth-First Search". */
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    private static final int UNVISITED = -1;
+
+    private Connectivity() {
+    }
+
+    /** Serial BFS from vertex 0. An empty graph counts as connected. */
+    public static boolean isConnected(CompactGraph g) {
+        int n = g.vertexCount();
+        if (n == 0)
+            return true;
+
+        boolean[] visited = new boolean[n];
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        queue[tail++] = 0;
+        visited[0] = true;
+
+        while (head < tail) {
+            int current = queue[head++];
+            for (int i = g.offset(current), end = g.offset(current + 1); i < end; i++) {
+                int neighbor = g.target(i);
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+
+        return tail == n;
+    }
+
+    /** Parallel direction-optimizing BFS on pool; serial when the pool has one thread. */
+    public static boolean isConnected(CompactGraph g, ForkJoinPool pool) {
+        if (pool.getParallelism() == 1)
+            return isConnected(g);
+        int n = g.vertexCount();
+        if (n == 0)
+            return true;
+
+        AtomicIntegerArray level = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++)
+            level.set(v, UNVISITED);
+        level.set(0, 0);
+
+        int[] frontier = { 0 };
+        int reached = 1;
+        long unexplored = 2L * g.edgeCount();
+        boolean bottomUp = false;
+
+        for (int depth = 0; frontier.length > 0; depth++) {
+            long frontierEdges = 0;
+            for (int v : frontier)
+                frontierEdges += g.degree(v);
+            unexplored -= frontierEdges;
+
+            if (!bottomUp && frontierEdges > unexplored / ALPHA)
+                bottomUp = true;
+            else if (bottomUp && frontier.length < n / BETA)
+                bottomUp = false;
+
+            frontier = bottomUp
+                    ? pool.invoke(new BottomUp(g, level, depth, 0, n))
+                    : pool.invoke(new TopDown(g, level, depth, frontier, 0, frontier.length));
+            reached += frontier.length;
+        }
+        return reached == n;
+    }
+
+    /** Concatenates the vertex lists of two subtasks. */
+    private static int[] concat(int[] a, int[] b) {
+        if (a.length == 0)
+            return b;
+        if (b.length == 0)
+            return a;
+        int[] out = new int[a.length + b.length];
+        System.arraycopy(a, 0, out, 0, a.length);
+        System.arraycopy(b, 0, out, a.length, b.length);
+        return out;
+    }
+
+    /** Expands frontier[lo, hi); returns the neighbours this task claimed. */
+    private static final class TopDown extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final CompactGraph g;
+        private final AtomicIntegerArray level;
+        private final int depth;
+        private final int[] frontier;
+        private final int lo, hi;
+
+        TopDown(CompactGraph g, AtomicIntegerArray level, int depth, int[] frontier, int lo, int hi) {
+            this.g = g;
+            this.level = level;
+            this.depth = depth;
+            this.frontier = frontier;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                TopDown left = new TopDown(g, level, depth, frontier, lo, mid);
+                left.fork();
+                int[] right = new TopDown(g, level, depth, frontier, mid, hi).compute();
+                return concat(left.join(), right);
+            }
+            int[] next = new int[16];
+            int size = 0;
+            for (int k = lo; k < hi; k++) {
+                int u = frontier[k];
+                for (int i = g.offset(u), end = g.offset(u + 1); i < end; i++) {
+                    int v = g.target(i);
+                    if (level.get(v) == UNVISITED && level.compareAndSet(v, UNVISITED, depth + 1)) {
+                        if (size == next.length)
+                            next = Arrays.copyOf(next, size * 2);
+                        next[size++] = v;
+                    }
+                }
+            }
+            return Arrays.copyOf(next, size);
+        }
+    }
+
+    /** Gives every unvisited vertex in [lo, hi) a frontier parent if it has one. */
+    private static final class BottomUp extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final CompactGraph g;
+        private final AtomicIntegerArray level;
+        private final int depth;
+        private final int lo, hi;
+
+        BottomUp(CompactGraph g, AtomicIntegerArray level, int depth, int lo, int hi) {
+            this.g = g;
+            this.level = level;
+            this.depth = depth;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                BottomUp left = new BottomUp(g, level, depth, lo, mid);
+                left.fork();
+                int[] right = new BottomUp(g, level, depth, mid, hi).compute();
+                return concat(left.join(), right);
+            }
+            int[] next = new int[16];
+            int size = 0;
+            for (int v = lo; v < hi; v++) {
+                if (level.get(v) != UNVISITED)
+                    continue;
+                // Only this task writes v, so no CAS is needed
+                for (int i = g.offset(v), end = g.offset(v + 1); i < end; i++) {
+                    if (level.get(g.target(i)) == depth) {
+                        level.set(v, depth + 1);
+                        if (size == next.length)
+                            next = Arrays.copyOf(next, size * 2);
+                        next[size++] = v;
+                        break;
+                    }
+                }
+            }
+            return Arrays.copyOf(next, size);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package algorithms;
+
+import java.util.*;
+
+import algorithms.jfr.MSTEvents;
+import algorithms.metrics.MetricsSink;
+import algorithms.metrics.Op;
+import algorithms.models.AlgorithmResult;
+import algorithms.models.CompactGraph;
+import algorithms.models.Graph;
+
+/**
+ * O(V^2 + E) Prim for dense graphs. Instead of a heap it keeps a plain key
+ * array and picks the next vertex with a linear arg-min scan (MinScan), so
+ * there is no E log V heap traffic. Vertices already in the tree have their
+ * key set to +infinity so the scan needs no separate visited test.
+ */
+public class DensePrimMST {
+
+    /** Engine name of every result; the scan kernel is fixed when MinScan loads. */
+    static final String ENGINE = MinScan.SIMD ? "prim/dense-simd" : "prim/dense-scalar";
+
+    public static AlgorithmResult run(Graph graph) {
+        long start = System.nanoTime();
+        MetricsSink metrics = MetricsSink.create();
+        CompactGraph g = graph.compact();
+        int n = g.vertexCount();
+        String engine = ENGINE;
+
+        if (n == 0) {
+            long end = System.nanoTime();
+            double timeMs = (end - start) / 1_000_000.0;
+            return new AlgorithmResult(graph, new int[0], 0, new int[0], 0.0, metrics, timeMs, engine);
+        }
+
+        boolean[] inMST = new boolean[n];
+        double[] key = new double[n];
+        int[] parentEdge = new int[n];
+        Arrays.fill(key, Double.POSITIVE_INFINITY);
+        Arrays.fill(parentEdge, -1);
+
+        // One Prim tree per component: argMin finds no finite key once the
+        // current component is exhausted
+        int[] component = new int[n];
+        int components = 0;
+        MSTEvents.PrimLoop loop = new MSTEvents.PrimLoop();
+        loop.begin();
+        for (int s = 0; s < n; s++) {
+            if (inMST[s])
+                continue;
+            key[s] = 0.0;
+
+            while (true) {
+                int u = MinScan.argMin(key, n);
+                metrics.add(Op.COMPARE, n);
+                if (u < 0)
+                    break;
+                metrics.inc(Op.HEAP_POP);
+
+                inMST[u] = true;
+                component[u] = components;
+                key[u] = Double.POSITIVE_INFINITY;
+
+                metrics.add(Op.EDGE_SCAN, g.degree(u));
+                for (int i = g.offset(u), end = g.offset(u + 1); i < end; i++) {
+                    int v = g.target(i);
+                    int e = g.edgeAt(i);
+
+                    if (!inMST[v] && g.weight(e) < key[v]) {
+                        key[v] = g.weight(e);
+                        parentEdge[v] = e;
+                        metrics.inc(Op.HEAP_PUSH);
+                    }
+                }
+            }
+            components++;
+        }
+        loop.finish(graph, engine);
+
+        int[] tree = new int[n];
+        int treeSize = 0;
+        double total = 0.0;
+
+        for (int v = 0; v < n; v++) {
+            int e = parentEdge[v];
+            if (e >= 0) {
+                tree[treeSize++] = e;
+                total += g.weight(e);
+            }
+        }
+
+        long end = System.nanoTime();
+        double timeMs = (end - start) / 1_000_000.0;
+        MSTEvents.ResultAssembly assembly = new MSTEvents.ResultAssembly();
+        assembly.begin();
+        AlgorithmResult result = new AlgorithmResult(graph, tree, treeSize, component, total, metrics, timeMs, engine);
+        assembly.finish(graph, engine);
+        return result;
+    }
+}
@@ -0,0 +1,165 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import algorithms.models.CompactGraph;
+
+/**
+ * Sorts edge ids by (weight, edge id) without boxing or per-comparison
+ * callbacks.
+ *
+ * Small integer weights (such as the 1-100 costs in our datasets) go through
+ * a parallel stable counting sort. Otherwise each edge is packed into a long
+ * key (weight rank in the high 32 bits, edge id in the low 32 bits) and the
+ * keys are sorted with Arrays.parallelSort.
+ */
+public final class EdgeSort {
+
+    /** Widest integer weight range handled by counting sort. */
+    static final int COUNTING_RANGE = 1 << 16;
+
+    /** Below this many edges the sort runs on the calling thread only. */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    public static final class Sorted {
+        /** Edge ids in ascending (weight, id) order. */
+        public final int[] order;
+        /**
+         * Estimated work of the sort. Counting sort reports its exact
+         * histogram and scatter steps. Arrays.parallelSort cannot be
+         * instrumented, so each comparison sort it runs is charged
+         * n * ceil(log2 n) comparisons plus the key moves around it; the
+         * rank path runs two such sorts plus a binary search per edge.
+         */
+        public final long estimatedOperations;
+        public final String method;
+
+        Sorted(int[] order, long estimatedOperations, String method) {
+            this.order = order;
+            this.estimatedOperations = estimatedOperations;
+            this.method = method;
+        }
+    }
+
+    private EdgeSort() {
+    }
+
+    public static Sorted sort(CompactGraph g) {
+        int m = g.edgeCount();
+        if (m == 0)
+            return new Sorted(new int[0], 0, "counting-sort");
+
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        boolean integral = true;
+        for (int e = 0; e < m; e++) {
+            double w = g.weight(e);
+            if (w < min)
+                min = w;
+            if (w > max)
+                max = w;
+            if (w != Math.rint(w) || Double.isInfinite(w))
+                integral = false;
+        }
+
+        if (integral && max - min < COUNTING_RANGE)
+            return countingSort(g, (long) min, (int) (max - min) + 1);
+        if (integral && max - min < Integer.MAX_VALUE)
+            return keySort(g, offsetKeys(g, (long) min), m, "parallel-sort");
+        return rankSort(g);
+    }
+
+    /**
+     * Stable counting sort. Each chunk builds its own histogram; offsets are
+     * laid out value-major, chunk-minor so equal weights keep id order.
+     */
+    private static Sorted countingSort(CompactGraph g, long min, int range) {
+        int m = g.edgeCount();
+        int chunks = chunkCount(m);
+        int chunkSize = (m + chunks - 1) / chunks;
+        int[][] counts = new int[chunks][range];
+
+        parallelFor(chunks, m, c -> {
+            int[] hist = counts[c];
+            for (int e = c * chunkSize, end = Math.min(m, e + chunkSize); e < end; e++)
+                hist[(int) ((long) g.weight(e) - min)]++;
+        });
+
+        int offset = 0;
+        for (int w = 0; w < range; w++) {
+            for (int c = 0; c < chunks; c++) {
+                int n = counts[c][w];
+                counts[c][w] = offset;
+                offset += n;
+            }
+        }
+
+        int[] order = new int[m];
+        parallelFor(chunks, m, c -> {
+            int[] next = counts[c];
+            for (int e = c * chunkSize, end = Math.min(m, e + chunkSize); e < end; e++)
+                order[next[(int) ((long) g.weight(e) - min)]++] = e;
+        });
+
+        return new Sorted(order, 2L * m + range, "counting-sort");
+    }
+
+    private static long[] offsetKeys(CompactGraph g, long min) {
+        long[] keys = new long[g.edgeCount()];
+        parallelFor(keys.length, keys.length, e -> keys[e] = (((long) g.weight(e) - min) << 32) | e);
+        return keys;
+    }
+
+    /** Replaces arbitrary double weights by their rank among distinct weights. */
+    private static Sorted rankSort(CompactGraph g) {
+        int m = g.edgeCount();
+        double[] distinct = new double[m];
+        for (int e = 0; e < m; e++)
+            distinct[e] = g.weight(e);
+        Arrays.parallelSort(distinct);
+        int d = 0;
+        for (int i = 0; i < m; i++) {
+            if (i == 0 || Double.compare(distinct[i], distinct[d - 1]) != 0)
+                distinct[d++] = distinct[i];
+        }
+        int distinctCount = d;
+
+        long[] keys = new long[m];
+        parallelFor(m, m, e -> {
+            long rank = Arrays.binarySearch(distinct, 0, distinctCount, g.weight(e));
+            keys[e] = (rank << 32) | e;
+        });
+
+        Sorted sorted = keySort(g, keys, m, "rank-parallel-sort");
+        // The sort of the raw weights, then one binary search per edge
+        long rankOps = comparisonBound(m) + (long) m * log2Ceil(distinctCount);
+        return new Sorted(sorted.order, sorted.estimatedOperations + rankOps, sorted.method);
+    }
+
+    private static Sorted keySort(CompactGraph g, long[] keys, int m, String method) {
+        Arrays.parallelSort(keys);
+        int[] order = new int[m];
+        parallelFor(m, m, i -> order[i] = (int) keys[i]);
+        return new Sorted(order, comparisonBound(m) + m, method);
+    }
+
+    /** n * ceil(log2 n): comparisons charged for a comparison sort of n keys, an estimate. */
+    private static long comparisonBound(int n) {
+        return (long) n * log2Ceil(n);
+    }
+
+    private static int log2Ceil(int n) {
+        return n <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(n - 1);
+    }
+
+    private static int chunkCount(int m) {
+        if (m < PARALLEL_THRESHOLD)
+            return 1;
+        return Math.max(1, Math.min(m / PARALLEL_THRESHOLD, 4 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    private static void parallelFor(int count, int work, java.util.function.IntConsumer body) {
+        IntStream range = IntStream.range(0, count);
+        (work < PARALLEL_THRESHOLD ? range : range.parallel()).forEach(body);
+    }
+}
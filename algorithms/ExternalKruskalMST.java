@@ -0,0 +1,345 @@
+package algorithms;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import algorithms.jfr.MSTEvents;
+import algorithms.metrics.MetricsSink;
+import algorithms.metrics.Op;
+import algorithms.models.AlgorithmResult;
+import algorithms.models.CompactGraph;
+import algorithms.models.Graph;
+
+/**
+ * Kruskal for edge lists that do not fit in the heap; only the vertices
+ * (union-find arrays) and one bounded run buffer are held in memory.
+ *
+ * Edges are read in id order through the CompactGraph accessors, which for a
+ * graph from MappedGraphFile read the memory-mapped file in place. They are
+ * collected into runs of at most memoryBytes / RECORD_BYTES records, each run
+ * is sorted by (weight, edge id) and spilled to a temporary file, and the
+ * runs are k-way merged into the union-find. If everything fits in one run,
+ * nothing is spilled. The tree is the one KruskalMST selects.
+ *
+ * Only a graph mapped from a .mstg container keeps its edges off the heap;
+ * a graph parsed from JSON already holds every edge in heap arrays, so the
+ * spill bounds the sort's memory but not the graph's.
+ *
+ * Configured with -Dmst.external.memoryBytes=n (default 64 MiB) and
+ * -Dmst.external.spillDir=path (default java.io.tmpdir).
+ */
+public class ExternalKruskalMST {
+
+    /** Spilled record: double weight, int edge id, int from, int to. */
+    static final int RECORD_BYTES = 20;
+
+    /** Smallest read buffer per run during the merge. */
+    private static final int MIN_MERGE_BUFFER = 4096;
+
+    public static class Options {
+        public final long memoryBytes;
+        public final Path spillDir;
+
+        public Options(long memoryBytes, Path spillDir) {
+            if (memoryBytes < 16L * RECORD_BYTES)
+                throw new IllegalArgumentException("Memory budget too small: " + memoryBytes);
+            this.memoryBytes = memoryBytes;
+            this.spillDir = spillDir;
+        }
+
+        public static Options fromSystemProperties() {
+            return new Options(Long.getLong("mst.external.memoryBytes", 64L << 20),
+                    Paths.get(System.getProperty("mst.external.spillDir", System.getProperty("java.io.tmpdir"))));
+        }
+    }
+
+    /** AlgorithmResult plus the spill statistics of the run. */
+    public static class Result extends AlgorithmResult {
+        public final long bytesSpilled;
+        public final int runs;
+
+        Result(Graph graph, int[] tree, int treeSize, int[] componentOf, double totalCost,
+                MetricsSink metrics, double executionTimeMs, long bytesSpilled, int runs) {
+            super(graph, tree, treeSize, componentOf, totalCost, metrics, executionTimeMs, "kruskal/external");
+            this.bytesSpilled = bytesSpilled;
+            this.runs = runs;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + String.format(" spilled=%d bytes in %d runs", bytesSpilled, runs);
+        }
+    }
+
+    public static Result run(Graph graph) {
+        return run(graph, Options.fromSystemProperties());
+    }
+
+    public static Result run(Graph graph, Options options) {
+        try {
+            return new ExternalKruskalMST(graph, options).solve();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final Graph graph;
+    private final CompactGraph g;
+    private final Options options;
+    private final MetricsSink metrics = MetricsSink.create();
+    private final IntUnionFind uf;
+    private final int[] tree;
+    private int treeSize;
+    private double total;
+
+    // Run buffer; released before the merge so its memory goes to the run readers
+    private long[] keys;
+    private int[] ids;
+    private int[] from;
+    private int[] to;
+
+    private ExternalKruskalMST(Graph graph, Options options) {
+        this.graph = graph;
+        this.g = graph.compact();
+        this.options = options;
+        this.uf = new IntUnionFind(g.vertexCount(), metrics);
+        this.tree = new int[Math.max(0, g.vertexCount() - 1)];
+        int capacity = (int) Math.min(g.edgeCount(), Math.min(Integer.MAX_VALUE - 8, options.memoryBytes / RECORD_BYTES));
+        keys = new long[capacity];
+        ids = new int[capacity];
+        from = new int[capacity];
+        to = new int[capacity];
+    }
+
+    private Result solve() throws IOException {
+        long start = System.nanoTime();
+        int m = g.edgeCount();
+        List<Path> runs = new ArrayList<>();
+        long bytesSpilled = 0;
+        try {
+            int size = 0;
+            for (int e = 0; e < m; e++) {
+                if (size == keys.length) {
+                    runs.add(spill(size));
+                    bytesSpilled += (long) size * RECORD_BYTES;
+                    size = 0;
+                }
+                keys[size] = sortableBits(g.weight(e));
+                ids[size] = e;
+                from[size] = g.from(e);
+                to[size] = g.to(e);
+                size++;
+            }
+
+            if (runs.isEmpty()) {
+                sortRun(0, size);
+                for (int i = 0; i < size && !done(); i++)
+                    accept(ids[i], from[i], to[i], keys[i]);
+            } else {
+                if (size > 0) {
+                    runs.add(spill(size));
+                    bytesSpilled += (long) size * RECORD_BYTES;
+                }
+                keys = null;
+                ids = null;
+                from = null;
+                to = null;
+                merge(runs);
+            }
+        } finally {
+            for (Path run : runs)
+                Files.deleteIfExists(run);
+        }
+
+        long end = System.nanoTime();
+        double timeMs = (end - start) / 1_000_000.0;
+        MSTEvents.ResultAssembly assembly = new MSTEvents.ResultAssembly();
+        assembly.begin();
+        Result result = new Result(graph, tree, treeSize, uf.componentLabels(), total, metrics, timeMs,
+                bytesSpilled, runs.size());
+        assembly.finish(graph, result.engine);
+        return result;
+    }
+
+    private boolean done() {
+        return treeSize == tree.length;
+    }
+
+    private void accept(int e, int u, int v, long key) {
+        if (uf.union(u, v)) {
+            tree[treeSize++] = e;
+            total += weightOf(key);
+        }
+    }
+
+    /** Sorts the buffered records and writes them to a new spill file. */
+    private Path spill(int size) throws IOException {
+        sortRun(0, size);
+        Path file = Files.createTempFile(options.spillDir, "kruskal-run", ".bin");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file), 1 << 16))) {
+            for (int i = 0; i < size; i++) {
+                out.writeDouble(weightOf(keys[i]));
+                out.writeInt(ids[i]);
+                out.writeInt(from[i]);
+                out.writeInt(to[i]);
+            }
+        }
+        return file;
+    }
+
+    /** K-way merge of the sorted runs into the union-find, stopping at V - 1 edges. */
+    private void merge(List<Path> runs) throws IOException {
+        int k = runs.size();
+        int bufferSize = (int) Math.max(MIN_MERGE_BUFFER, Math.min(1 << 20, options.memoryBytes / k));
+        RunReader[] readers = new RunReader[k];
+        int[] heap = new int[k];
+        int heapSize = 0;
+        try {
+            for (int r = 0; r < k; r++) {
+                readers[r] = new RunReader(runs.get(r), bufferSize);
+                if (readers[r].advance())
+                    heap[heapSize++] = r;
+            }
+            for (int i = heapSize / 2 - 1; i >= 0; i--)
+                siftDown(readers, heap, heapSize, i);
+
+            while (heapSize > 0 && !done()) {
+                RunReader top = readers[heap[0]];
+                accept(top.id, top.from, top.to, top.key);
+                if (!top.advance())
+                    heap[0] = heap[--heapSize];
+                siftDown(readers, heap, heapSize, 0);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null)
+                    reader.close();
+            }
+        }
+    }
+
+    private void siftDown(RunReader[] readers, int[] heap, int size, int i) {
+        while (true) {
+            int least = i, l = 2 * i + 1, r = l + 1;
+            if (l < size && readers[heap[l]].before(readers[heap[least]], metrics))
+                least = l;
+            if (r < size && readers[heap[r]].before(readers[heap[least]], metrics))
+                least = r;
+            if (least == i)
+                return;
+            int t = heap[i];
+            heap[i] = heap[least];
+            heap[least] = t;
+            i = least;
+        }
+    }
+
+    /** Quicksort of buffer slots [lo, hi) by (key, edge id). */
+    private void sortRun(int lo, int hi) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            // Median of three moved to lo as the pivot
+            if (less(mid, lo))
+                swap(mid, lo);
+            if (less(hi - 1, lo))
+                swap(hi - 1, lo);
+            if (less(hi - 1, mid))
+                swap(hi - 1, mid);
+            swap(lo, mid);
+            int i = lo + 1, j = hi - 1;
+            while (true) {
+                while (i <= j && less(i, lo))
+                    i++;
+                while (i <= j && less(lo, j))
+                    j--;
+                if (i >= j)
+                    break;
+                swap(i++, j--);
+            }
+            swap(lo, j);
+            // Recurse into the smaller side to bound the stack depth
+            if (j - lo < hi - j - 1) {
+                sortRun(lo, j);
+                lo = j + 1;
+            } else {
+                sortRun(j + 1, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i < hi; i++) {
+            for (int j = i; j > lo && less(j, j - 1); j--)
+                swap(j, j - 1);
+        }
+    }
+
+    private boolean less(int a, int b) {
+        metrics.inc(Op.COMPARE);
+        return keys[a] < keys[b] || (keys[a] == keys[b] && ids[a] < ids[b]);
+    }
+
+    private void swap(int a, int b) {
+        long k = keys[a];
+        keys[a] = keys[b];
+        keys[b] = k;
+        int t = ids[a];
+        ids[a] = ids[b];
+        ids[b] = t;
+        t = from[a];
+        from[a] = from[b];
+        from[b] = t;
+        t = to[a];
+        to[a] = to[b];
+        to[b] = t;
+    }
+
+    /** Maps a double to a long with the same signed ordering as Double.compare. */
+    static long sortableBits(double w) {
+        long bits = Double.doubleToLongBits(w);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    static double weightOf(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    /** Sequential reader over one spilled run, positioned on its current record. */
+    private static final class RunReader implements Closeable {
+        private final DataInputStream in;
+        private long remaining;
+        long key;
+        int id;
+        int from;
+        int to;
+
+        RunReader(Path file, int bufferSize) throws IOException {
+            this.remaining = Files.size(file) / RECORD_BYTES;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), bufferSize));
+        }
+
+        boolean advance() throws IOException {
+            if (remaining == 0)
+                return false;
+            remaining--;
+            key = sortableBits(in.readDouble());
+            id = in.readInt();
+            from = in.readInt();
+            to = in.readInt();
+            return true;
+        }
+
+        boolean before(RunReader other, MetricsSink metrics) {
+            metrics.inc(Op.COMPARE);
+            return key < other.key || (key == other.key && id < other.id);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
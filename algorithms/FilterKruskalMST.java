@@ -0,0 +1,163 @@
+package algorithms;
+
+import java.util.*;
+
+import algorithms.jfr.MSTEvents;
+import algorithms.metrics.MetricsSink;
+import algorithms.metrics.Op;
+import algorithms.models.*;
+
+/**
+ * Filter-Kruskal (Osipov, Sanders, Singler): instead of sorting the whole edge
+ * list, quicksort-partition it around a pivot edge, solve the light side
+ * first, then drop heavy edges whose endpoints are already connected before
+ * partitioning what is left. Stops as soon as V-1 edges are accepted.
+ *
+ * Edges are ordered by (weight, edge id), so the tree matches KruskalMST.
+ */
+public class FilterKruskalMST {
+
+    /** Ranges at or below this size are insertion-sorted and scanned directly. */
+    private static final int BASE_CASE = 32;
+
+    private final CompactGraph g;
+    private final IntUnionFind uf;
+    private final int[] edges;
+    private final int[] tree;
+    private int treeSize;
+    private final MetricsSink metrics;
+
+    private FilterKruskalMST(CompactGraph g, MetricsSink metrics) {
+        this.g = g;
+        this.metrics = metrics;
+        this.uf = new IntUnionFind(g.vertexCount(), metrics);
+        this.edges = new int[g.edgeCount()];
+        for (int e = 0; e < edges.length; e++)
+            edges[e] = e;
+        this.tree = new int[Math.max(0, g.vertexCount() - 1)];
+    }
+
+    public static AlgorithmResult run(Graph graph) {
+        long start = System.nanoTime();
+        FilterKruskalMST fk = new FilterKruskalMST(graph.compact(), MetricsSink.create());
+        fk.filterKruskal(0, fk.edges.length);
+
+        double total = 0.0;
+        for (int i = 0; i < fk.treeSize; i++)
+            total += fk.g.weight(fk.tree[i]);
+
+        long end = System.nanoTime();
+        double timeMs = (end - start) / 1_000_000.0;
+        MSTEvents.ResultAssembly assembly = new MSTEvents.ResultAssembly();
+        assembly.begin();
+        AlgorithmResult result = new AlgorithmResult(graph, fk.tree, fk.treeSize, fk.uf.componentLabels(), total,
+                fk.metrics, timeMs, "filter-kruskal");
+        assembly.finish(graph, result.engine);
+        return result;
+    }
+
+    private boolean done() {
+        return treeSize == tree.length;
+    }
+
+    private void filterKruskal(int lo, int hi) {
+        if (done() || lo >= hi)
+            return;
+        if (hi - lo <= BASE_CASE) {
+            insertionSort(lo, hi);
+            for (int i = lo; i < hi && !done(); i++)
+                accept(edges[i]);
+            return;
+        }
+
+        int split = partition(lo, hi);
+        filterKruskal(lo, split);
+        if (done())
+            return;
+        int kept = filter(split, hi);
+        filterKruskal(split, kept);
+    }
+
+    private void accept(int e) {
+        if (uf.union(g.from(e), g.to(e)))
+            tree[treeSize++] = e;
+    }
+
+    /**
+     * Moves edges lighter than or equal to a median-of-three pivot to the front
+     * of [lo, hi). Returns the first index of the heavy side.
+     */
+    private int partition(int lo, int hi) {
+        int pivot = medianOfThree(edges[lo], edges[(lo + hi) >>> 1], edges[hi - 1]);
+        int i = lo, j = hi - 1;
+        while (true) {
+            while (i <= j && !lighter(pivot, edges[i]))
+                i++;
+            while (i <= j && lighter(pivot, edges[j]))
+                j--;
+            if (i >= j)
+                break;
+            int t = edges[i];
+            edges[i] = edges[j];
+            edges[j] = t;
+        }
+        // The pivot itself is on the light side, so both sides are non-empty
+        // unless it is the heaviest edge; then split off the pivot alone.
+        if (i == hi) {
+            int p = indexOf(pivot, lo, hi);
+            edges[p] = edges[hi - 1];
+            edges[hi - 1] = pivot;
+            return hi - 1;
+        }
+        return i;
+    }
+
+    /** Compacts [lo, hi) to the edges that still join two components. */
+    private int filter(int lo, int hi) {
+        int k = lo;
+        for (int i = lo; i < hi; i++) {
+            int e = edges[i];
+            if (!uf.connected(g.from(e), g.to(e)))
+                edges[k++] = e;
+        }
+        return k;
+    }
+
+    private void insertionSort(int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            int e = edges[i];
+            int j = i - 1;
+            while (j >= lo && lighter(e, edges[j])) {
+                edges[j + 1] = edges[j];
+                j--;
+            }
+            edges[j + 1] = e;
+        }
+    }
+
+    private int medianOfThree(int a, int b, int c) {
+        if (lighter(a, b)) {
+            if (lighter(b, c))
+                return b;
+            return lighter(a, c) ? c : a;
+        }
+        if (lighter(a, c))
+            return a;
+        return lighter(b, c) ? c : b;
+    }
+
+    private int indexOf(int e, int lo, int hi) {
+        for (int i = lo; i < hi; i++) {
+            if (edges[i] == e)
+                return i;
+        }
+        throw new IllegalStateException("Pivot edge not in range");
+    }
+
+    /** Total order on edges: weight, then edge id. */
+    private boolean lighter(int a, int b) {
+        metrics.inc(Op.COMPARE);
+        double wa = g.weight(a), wb = g.weight(b);
+        return wa < wb || (wa == wb && a < b);
+    }
+}
@@ -0,0 +1,97 @@
+package algorithms;
+
+import java.util.Arrays;
+
+import algorithms.metrics.MetricsSink;
+import algorithms.metrics.Op;
+
+/**
+ * Disjoint-set forest over vertex ids 0..n-1 backed by primitive arrays.
+ * find() is iterative with path halving and union() links by size, so no
+ * boxing, hashing or recursion happens on the hot path.
+ */
+public class IntUnionFind {
+    private final int[] parent;
+    private final int[] size;
+    private int components;
+    private final MetricsSink metrics;
+
+    public IntUnionFind(int n) {
+        this(n, MetricsSink.NONE);
+    }
+
+    /** Union-find that reports FIND steps and UNION calls to metrics. */
+    public IntUnionFind(int n, MetricsSink metrics) {
+        this.metrics = metrics;
+        parent = new int[n];
+        size = new int[n];
+        for (int i = 0; i < n; i++)
+            parent[i] = i;
+        Arrays.fill(size, 1);
+        components = n;
+    }
+
+    public int find(int x) {
+        long steps = 1;
+        while (parent[x] != x) {
+            steps++;
+            // Path halving: point x at its grandparent and skip ahead
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        metrics.add(Op.FIND, steps);
+        return x;
+    }
+
+    public boolean union(int a, int b) {
+        metrics.inc(Op.UNION);
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB)
+            return false;
+
+        if (size[rootA] < size[rootB]) {
+            int t = rootA;
+            rootA = rootB;
+            rootB = t;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        components--;
+        return true;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /** Number of vertices in the set containing x. */
+    public int sizeOf(int x) {
+        return size[find(x)];
+    }
+
+    public int componentCount() {
+        return components;
+    }
+
+    /**
+     * Component label of every element, numbered from 0 in order of each
+     * set's smallest element. Not reported to the metrics sink.
+     */
+    public int[] componentLabels() {
+        int n = parent.length;
+        int[] labelOfRoot = new int[n];
+        Arrays.fill(labelOfRoot, -1);
+        int[] label = new int[n];
+        int next = 0;
+        for (int v = 0; v < n; v++) {
+            int root = v;
+            while (parent[root] != root)
+                root = parent[root];
+            if (labelOfRoot[root] < 0)
+                labelOfRoot[root] = next++;
+            label[v] = labelOfRoot[root];
+        }
+        return label;
+    }
+}
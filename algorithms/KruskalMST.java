@@ -2,37 +2,48 @@ package algorithms;
 
 import java.util.*;
 
+import algorithms.jfr.MSTEvents;
+import algorithms.metrics.MetricsSink;
+import algorithms.metrics.Op;
 import algorithms.models.*;
 
 public class KruskalMST {
 
     public static AlgorithmResult run(Graph graph) {
         long start = System.nanoTime();
-        long[] comparisons = { 0 };
+        MetricsSink metrics = MetricsSink.create();
+        CompactGraph g = graph.compact();
 
-        List<Edge> edges = new ArrayList<>(graph.edges);
-        edges.sort((a, b) -> {
-            comparisons[0]++;
-            return Double.compare(a.weight, b.weight);
-        });
+        MSTEvents.EdgeSort sortEvent = new MSTEvents.EdgeSort();
+        sortEvent.begin();
+        EdgeSort.Sorted sorted = EdgeSort.sort(g);
+        metrics.add(Op.COMPARE, sorted.estimatedOperations);
+        String engine = "kruskal/" + sorted.method;
+        sortEvent.finish(graph, engine);
 
-        UnionFind uf = new UnionFind();
-        for (String node : graph.nodes)
-            uf.add(node);
+        IntUnionFind uf = new IntUnionFind(g.vertexCount(), metrics);
 
-        List<Edge> mst = new ArrayList<>();
+        int[] tree = new int[Math.max(0, g.vertexCount() - 1)];
+        int treeSize = 0;
         double total = 0.0;
 
-        for (Edge e : edges) {
-            if (uf.union(e.from, e.to)) {
-                mst.add(e);
-                total += e.weight;
+        MSTEvents.UnionFindPass pass = new MSTEvents.UnionFindPass();
+        pass.begin();
+        for (int e : sorted.order) {
+            if (uf.union(g.from(e), g.to(e))) {
+                tree[treeSize++] = e;
+                total += g.weight(e);
             }
         }
+        pass.finish(graph, engine);
 
         long end = System.nanoTime();
-        long ops = comparisons[0] + uf.findOps + uf.unionOps;
         double timeMs = (end - start) / 1_000_000.0;
-        return new AlgorithmResult(mst, total, ops, timeMs);
+        MSTEvents.ResultAssembly assembly = new MSTEvents.ResultAssembly();
+        assembly.begin();
+        AlgorithmResult result = new AlgorithmResult(graph, tree, treeSize, uf.componentLabels(), total, metrics,
+                timeMs, engine);
+        assembly.finish(graph, engine);
+        return result;
     }
 }
@@ -0,0 +1,52 @@
+package algorithms;
+
+import algorithms.heap.HeapType;
+import algorithms.models.AlgorithmResult;
+import algorithms.models.Graph;
+
+/**
+ * Every MST engine in the project behind one name, for drivers and
+ * benchmarks that select the engine at runtime.
+ */
+public enum MSTEngine {
+    /** PrimMST.run: dense or heap mode chosen by density. */
+    PRIM,
+    PRIM_BINARY,
+    PRIM_4ARY,
+    PRIM_PAIRING,
+    PRIM_DENSE,
+    KRUSKAL,
+    /** ExternalKruskalMST with the budget and spill directory from system properties. */
+    KRUSKAL_EXTERNAL,
+    /** ParallelKruskalMST on the common pool. */
+    KRUSKAL_PARALLEL,
+    FILTER_KRUSKAL,
+    BORUVKA;
+
+    public AlgorithmResult run(Graph graph) {
+        switch (this) {
+            case PRIM:
+                return PrimMST.run(graph);
+            case PRIM_BINARY:
+                return PrimMST.run(graph, HeapType.BINARY);
+            case PRIM_4ARY:
+                return PrimMST.run(graph, HeapType.QUATERNARY);
+            case PRIM_PAIRING:
+                return PrimMST.run(graph, HeapType.PAIRING);
+            case PRIM_DENSE:
+                return DensePrimMST.run(graph);
+            case KRUSKAL:
+                return KruskalMST.run(graph);
+            case KRUSKAL_EXTERNAL:
+                return ExternalKruskalMST.run(graph);
+            case KRUSKAL_PARALLEL:
+                return ParallelKruskalMST.run(graph);
+            case FILTER_KRUSKAL:
+                return FilterKruskalMST.run(graph);
+            case BORUVKA:
+                return BoruvkaMST.run(graph);
+            default:
+                throw new IllegalStateException("Unknown engine: " + this);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package algorithms;
+
+/**
+ * Arg-min scan over a key array, used by the dense Prim engine to pick the
+ * next vertex. Uses the jdk.incubator.vector kernel (VectorMinScan, in the
+ * separately compiled incubator-src/ tree) when that class is on the class
+ * path and the module is resolved at runtime (--add-modules
+ * jdk.incubator.vector), and falls back to a scalar loop otherwise. Set
+ * -Dmst.simd=false to force the scalar path.
+ */
+public final class MinScan {
+
+    /** Arg-min implementation loaded from incubator-src/. */
+    interface Kernel {
+        int argMin(double[] keys, int n);
+    }
+
+    private static final Kernel VECTOR = loadVectorKernel();
+
+    public static final boolean SIMD = VECTOR != null;
+
+    private MinScan() {
+    }
+
+    /**
+     * Index of the first smallest finite key in keys[0..n), or -1 if every key
+     * is +infinity.
+     */
+    public static int argMin(double[] keys, int n) {
+        return SIMD ? VECTOR.argMin(keys, n) : scalarArgMin(keys, n);
+    }
+
+    public static int scalarArgMin(double[] keys, int n) {
+        int best = -1;
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            if (keys[i] < min) {
+                min = keys[i];
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static Kernel loadVectorKernel() {
+        if (!Boolean.parseBoolean(System.getProperty("mst.simd", "true")))
+            return null;
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+            return null;
+        try {
+            return (Kernel) Class.forName("algorithms.VectorMinScan").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // incubator-src/ was not compiled onto the class path
+            return null;
+        }
+    }
+}
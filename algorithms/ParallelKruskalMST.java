@@ -0,0 +1,132 @@
+package algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import algorithms.jfr.MSTEvents;
+import algorithms.metrics.MetricsSink;
+import algorithms.metrics.Op;
+import algorithms.models.AlgorithmResult;
+import algorithms.models.CompactGraph;
+import algorithms.models.Graph;
+
+/**
+ * Kruskal with the cycle test moved off the critical path.
+ *
+ * Edges are sorted by (weight, edge id) as in KruskalMST and then handled in
+ * chunks of CHUNK sorted positions. While the calling thread commits chunk k
+ * in order, the pool checks every edge of chunk k + 1 against a shared
+ * ConcurrentUnionFind and marks those whose endpoints are already connected.
+ * Unions only ever merge sets, so a marked edge really closes a cycle with
+ * lighter edges and is skipped; unmarked edges go through union() in order
+ * as usual. The tree is therefore exactly the one KruskalMST selects.
+ */
+public class ParallelKruskalMST {
+
+    /** Sorted positions committed between two filter hand-offs. */
+    private static final int CHUNK = 1 << 14;
+
+    /** Positions checked by one leaf task of the filter. */
+    private static final int GRAIN = 2048;
+
+    public static AlgorithmResult run(Graph graph) {
+        return run(graph, ForkJoinPool.commonPool());
+    }
+
+    public static AlgorithmResult run(Graph graph, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        MetricsSink metrics = MetricsSink.create();
+        CompactGraph g = graph.compact();
+
+        String engine = "kruskal/parallel-" + pool.getParallelism() + "t";
+
+        MSTEvents.EdgeSort sortEvent = new MSTEvents.EdgeSort();
+        sortEvent.begin();
+        EdgeSort.Sorted sorted = EdgeSort.sort(g);
+        metrics.add(Op.COMPARE, sorted.estimatedOperations);
+        sortEvent.finish(graph, engine);
+        int[] order = sorted.order;
+        int m = order.length;
+
+        // Pool threads only call connected(), which reports nothing, so the
+        // single-threaded sink is only touched by this thread's unions
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(g.vertexCount(), metrics);
+        boolean[] cycle = new boolean[m];
+
+        int[] tree = new int[Math.max(0, g.vertexCount() - 1)];
+        int treeSize = 0;
+        double total = 0.0;
+
+        MSTEvents.UnionFindPass pass = new MSTEvents.UnionFindPass();
+        pass.begin();
+        ForkJoinTask<?> pending = null;
+        for (int lo = 0, hi; lo < m && treeSize < tree.length; lo = hi) {
+            hi = Math.min(m, lo + CHUNK);
+            if (pending != null)
+                pending.join();
+            pending = null;
+            if (hi < m) {
+                int next = Math.min(m, hi + CHUNK);
+                metrics.add(Op.EDGE_SCAN, next - hi);
+                pending = pool.submit(new FilterTask(g, uf, order, cycle, hi, next));
+            }
+            for (int i = lo; i < hi && treeSize < tree.length; i++) {
+                if (cycle[i])
+                    continue;
+                int e = order[i];
+                if (uf.union(g.from(e), g.to(e))) {
+                    tree[treeSize++] = e;
+                    total += g.weight(e);
+                }
+            }
+        }
+        if (pending != null)
+            pending.join();
+        pass.finish(graph, engine);
+
+        long end = System.nanoTime();
+        double timeMs = (end - start) / 1_000_000.0;
+        MSTEvents.ResultAssembly assembly = new MSTEvents.ResultAssembly();
+        assembly.begin();
+        AlgorithmResult result = new AlgorithmResult(graph, tree, treeSize, uf.componentLabels(), total, metrics,
+                timeMs, engine);
+        assembly.finish(graph, engine);
+        return result;
+    }
+
+    /** Marks positions [lo, hi) of order whose edge joins two connected vertices. */
+    private static class FilterTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final CompactGraph g;
+        private final ConcurrentUnionFind uf;
+        private final int[] order;
+        private final boolean[] cycle;
+        private final int lo, hi;
+
+        FilterTask(CompactGraph g, ConcurrentUnionFind uf, int[] order, boolean[] cycle, int lo, int hi) {
+            this.g = g;
+            this.uf = uf;
+            this.order = order;
+            this.cycle = cycle;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= GRAIN) {
+                for (int i = lo; i < hi; i++) {
+                    int e = order[i];
+                    if (uf.connected(g.from(e), g.to(e)))
+                        cycle[i] = true;
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new FilterTask(g, uf, order, cycle, lo, mid),
+                    new FilterTask(g, uf, order, cycle, mid, hi));
+        }
+    }
+}
@@ -1,101 +1,137 @@
 package algorithms;
 
 import java.util.*;
+import algorithms.heap.HeapType;
+import algorithms.heap.IntPriorityQueue;
+import algorithms.jfr.MSTEvents;
+import algorithms.metrics.MetricsSink;
+import algorithms.metrics.Op;
 import algorithms.models.AlgorithmResult;
-import algorithms.models.Edge;
+import algorithms.models.CompactGraph;
 import algorithms.models.Graph;
 
 public class PrimMST {
 
-    private static class Node implements Comparable<Node> {
-        String vertex;
-        double key;
+    public static final HeapType DEFAULT_HEAP = HeapType.QUATERNARY;
 
-        Node(String v, double k) {
-            vertex = v;
-            key = k;
-        }
+    /**
+     * Graphs at or above this density are handed to DensePrimMST. Override
+     * with -Dmst.prim.denseThreshold or setDenseThreshold; a value above 1
+     * disables the dense mode.
+     */
+    private static volatile double denseThreshold = Double.parseDouble(
+            System.getProperty("mst.prim.denseThreshold", "0.2"));
 
-        @Override
-        public int compareTo(Node o) {
-            return Double.compare(this.key, o.key);
-        }
+    public static double getDenseThreshold() {
+        return denseThreshold;
     }
 
+    public static void setDenseThreshold(double threshold) {
+        denseThreshold = threshold;
+    }
+
+    /**
+     * Runs Prim, choosing the dense O(V^2) engine when the graph density is at
+     * least the dense threshold and the heap engine otherwise.
+     */
     public static AlgorithmResult run(Graph graph) {
+        if (useDense(graph))
+            return DensePrimMST.run(graph);
+        return run(graph, DEFAULT_HEAP);
+    }
+
+    /** AlgorithmResult.engine of run(graph) under the current settings, without running it. */
+    public static String engineFor(Graph graph) {
+        return useDense(graph) ? DensePrimMST.ENGINE : "prim/" + DEFAULT_HEAP.label;
+    }
+
+    private static boolean useDense(Graph graph) {
+        return graph.compact().vertexCount() > 1 && graph.density() >= denseThreshold;
+    }
+
+    /** Runs heap-based Prim with the given priority queue, whatever the density. */
+    public static AlgorithmResult run(Graph graph, HeapType heapType) {
         long start = System.nanoTime();
-        long comparisons = 0, extractMinOps = 0, decreaseKeyOps = 0;
+        MetricsSink metrics = MetricsSink.create();
+        CompactGraph g = graph.compact();
+        int n = g.vertexCount();
+        String engine = "prim/" + heapType.label;
 
         // Handle empty graph
-        if (graph.nodes.isEmpty()) {
+        if (n == 0) {
             long end = System.nanoTime();
             double timeMs = (end - start) / 1_000_000.0;
-            return new AlgorithmResult(new ArrayList<>(), 0.0, 0, timeMs);
+            return new AlgorithmResult(graph, new int[0], 0, new int[0], 0.0, metrics, timeMs, engine);
         }
 
-        Set<String> inMST = new HashSet<>();
-        Map<String, Double> key = new HashMap<>();
-        Map<String, String> parent = new HashMap<>();
-        Map<String, Edge> parentEdge = new HashMap<>();
-        PriorityQueue<Node> pq = new PriorityQueue<>();
+        boolean[] inMST = new boolean[n];
+        double[] key = new double[n];
+        int[] parentEdge = new int[n];
+        IntPriorityQueue pq = heapType.create(n);
 
         // Initialize all keys to infinity
-        for (String node : graph.nodes) {
-            key.put(node, Double.POSITIVE_INFINITY);
-            parent.put(node, null);
-            parentEdge.put(node, null);
-        }
-
-        // Start from the first node
-        String startNode = graph.nodes.get(0);
-        key.put(startNode, 0.0);
-        pq.add(new Node(startNode, 0.0));
-
-        while (!pq.isEmpty()) {
-            Node u = pq.poll();
-            extractMinOps++;
-
-            // Skip if already processed (duplicate in PQ)
-            if (inMST.contains(u.vertex)) {
+        Arrays.fill(key, Double.POSITIVE_INFINITY);
+        Arrays.fill(parentEdge, -1);
+
+        // Grow one tree from every vertex not reached yet, so a disconnected
+        // graph yields its full spanning forest
+        int[] component = new int[n];
+        int components = 0;
+        MSTEvents.PrimLoop loop = new MSTEvents.PrimLoop();
+        loop.begin();
+        for (int s = 0; s < n; s++) {
+            if (inMST[s])
                 continue;
-            }
-
-            inMST.add(u.vertex);
-
-            // Explore all adjacent edges
-            for (Edge e : graph.adj.get(u.vertex)) {
-                String v = e.from.equals(u.vertex) ? e.to : e.from;
-                comparisons++;
-
-                // FIX: Ensure key.get(v) is not null and compare properly
-                double currentKey = key.getOrDefault(v, Double.POSITIVE_INFINITY);
-
-                // If v is not in MST and edge weight is smaller than current key
-                if (!inMST.contains(v) && e.weight < currentKey) {
-                    key.put(v, e.weight);
-                    parent.put(v, u.vertex);
-                    parentEdge.put(v, e);
-                    pq.add(new Node(v, e.weight));
-                    decreaseKeyOps++;
+            key[s] = 0.0;
+            pq.insert(s, 0.0);
+
+            while (!pq.isEmpty()) {
+                int u = pq.extractMin();
+                metrics.inc(Op.HEAP_POP);
+                inMST[u] = true;
+                component[u] = components;
+
+                // Explore all adjacent edges
+                metrics.add(Op.EDGE_SCAN, g.degree(u));
+                for (int i = g.offset(u), end = g.offset(u + 1); i < end; i++) {
+                    int v = g.target(i);
+                    int e = g.edgeAt(i);
+
+                    // If v is not in MST and edge weight is smaller than current key
+                    if (!inMST[v] && g.weight(e) < key[v]) {
+                        key[v] = g.weight(e);
+                        parentEdge[v] = e;
+                        if (pq.contains(v))
+                            pq.decreaseKey(v, key[v]);
+                        else
+                            pq.insert(v, key[v]);
+                        metrics.inc(Op.HEAP_PUSH);
+                    }
                 }
             }
+            components++;
         }
+        loop.finish(graph, engine);
 
         // Build MST from parent edges
-        List<Edge> mst = new ArrayList<>();
+        int[] tree = new int[n];
+        int treeSize = 0;
         double total = 0.0;
 
-        for (String node : graph.nodes) {
-            Edge e = parentEdge.get(node);
-            if (e != null) {
-                mst.add(e);
-                total += e.weight;
+        for (int v = 0; v < n; v++) {
+            int e = parentEdge[v];
+            if (e >= 0) {
+                tree[treeSize++] = e;
+                total += g.weight(e);
             }
         }
 
         long end = System.nanoTime();
-        long ops = comparisons + extractMinOps + decreaseKeyOps;
         double timeMs = (end - start) / 1_000_000.0;
-        return new AlgorithmResult(mst, total, ops, timeMs);
+        MSTEvents.ResultAssembly assembly = new MSTEvents.ResultAssembly();
+        assembly.begin();
+        AlgorithmResult result = new AlgorithmResult(graph, tree, treeSize, component, total, metrics, timeMs, engine);
+        assembly.finish(graph, engine);
+        return result;
     }
-}
\ No newline at end of file
+}
@@ -3,11 +3,21 @@ package algorithms;
 import java.util.HashMap;
 import java.util.Map;
 
+import algorithms.metrics.MetricsSink;
+import algorithms.metrics.Op;
+
 public class UnionFind {
     private final Map<String, String> parent = new HashMap<>();
     private final Map<String, Integer> rank = new HashMap<>();
-    public long findOps = 0;
-    public long unionOps = 0;
+    private final MetricsSink metrics;
+
+    public UnionFind() {
+        this(MetricsSink.NONE);
+    }
+
+    public UnionFind(MetricsSink metrics) {
+        this.metrics = metrics;
+    }
 
     public void add(String x) {
         parent.put(x, x);
@@ -15,14 +25,14 @@ public class UnionFind {
     }
 
     public String find(String x) {
-        findOps++;
+        metrics.inc(Op.FIND);
         if (!parent.get(x).equals(x))
             parent.put(x, find(parent.get(x)));
         return parent.get(x);
     }
 
     public boolean union(String a, String b) {
-        unionOps++;
+        metrics.inc(Op.UNION);
         String rootA = find(a);
         String rootB = find(b);
         if (rootA.equals(rootB))
@@ -0,0 +1,226 @@
+package algorithms.batch;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import algorithms.models.Graph;
+
+/**
+ * Runs one task per graph and hands the results to a sink in input order.
+ *
+ * The parallel modes read graphs from the iterator as they go and keep at
+ * most twice the pool size in memory: the graphs running, plus a window of
+ * graphs waiting from which the largest (by V + E) is submitted next, so a
+ * big graph does not end up running alone at the tail. A graph counts
+ * against the window until its result is emitted, and results are emitted
+ * in input order, so JSON and CSV output stays deterministic.
+ *
+ * Configured with -Dmst.batch.mode=sequential|fixed|virtual|isolated,
+ * -Dmst.batch.threads=N (default: number of cores) and
+ * -Dmst.batch.containFailures=true.
+ */
+public class BatchRunner {
+
+    public enum Mode {
+        /** One graph at a time on the calling thread, streaming from the reader. */
+        SEQUENTIAL,
+        /** Fixed pool of platform threads. */
+        FIXED,
+        /** Bounded pool of virtual threads; falls back to FIXED before Java 21. */
+        VIRTUAL,
+        /**
+         * For timing runs: at most one graph per core, on a platform pool
+         * pinned to the core count that mst.batch.threads does not override.
+         * On a single core the graphs run one at a time.
+         */
+        ISOLATED
+    }
+
+    public static class Options {
+        public final Mode mode;
+        public final int threads;
+        /**
+         * When set, a graph whose task throws an exception, OutOfMemoryError
+         * or StackOverflowError goes to the failure handler and is skipped
+         * while the rest of the batch runs; otherwise the failure ends the
+         * batch. Works in every mode.
+         */
+        public final boolean containFailures;
+
+        public Options(Mode mode, int threads) {
+            this(mode, threads, false);
+        }
+
+        /** threads is ignored in ISOLATED mode, which uses one thread per core. */
+        public Options(Mode mode, int threads, boolean containFailures) {
+            if (threads < 1)
+                throw new IllegalArgumentException("Batch thread count must be positive: " + threads);
+            this.mode = mode;
+            this.threads = mode == Mode.ISOLATED ? Runtime.getRuntime().availableProcessors() : threads;
+            this.containFailures = containFailures;
+        }
+
+        public static Options fromSystemProperties() {
+            Mode mode = Mode.valueOf(System.getProperty("mst.batch.mode", "sequential").toUpperCase(Locale.ROOT));
+            int threads = Integer.getInteger("mst.batch.threads", Runtime.getRuntime().availableProcessors());
+            return new Options(mode, threads, Boolean.getBoolean("mst.batch.containFailures"));
+        }
+
+        @Override
+        public String toString() {
+            String s = mode == Mode.SEQUENTIAL ? "sequential" : mode.name().toLowerCase(Locale.ROOT) + "/" + threads;
+            return containFailures ? s + "+contain" : s;
+        }
+    }
+
+    /** A graph read from the iterator, waiting or running, until its result is emitted. */
+    private static final class Slot<R> {
+        final int id;
+        final long size;
+        Graph graph;
+        Future<R> future;
+
+        Slot(Graph graph) {
+            this.id = graph.id;
+            this.size = size(graph);
+            this.graph = graph;
+        }
+    }
+
+    private BatchRunner() {
+    }
+
+    /** As below, reporting contained failures on standard error. */
+    public static <R> void run(Iterator<Graph> graphs, Function<Graph, R> task,
+            Consumer<R> sink, Options options) {
+        run(graphs, task, sink, (id, error) -> System.err.println("Graph " + id + " failed: " + error), options);
+    }
+
+    /**
+     * Applies task to every graph and passes the results to sink in input
+     * order. With options.containFailures a failed graph goes to onFailure
+     * with its id instead of ending the batch; otherwise the failure is
+     * rethrown.
+     */
+    public static <R> void run(Iterator<Graph> graphs, Function<Graph, R> task,
+            Consumer<R> sink, BiConsumer<Integer, Throwable> onFailure, Options options) {
+        boolean contain = options.containFailures;
+        if (options.mode == Mode.SEQUENTIAL || options.threads == 1) {
+            while (graphs.hasNext()) {
+                Graph g = graphs.next();
+                int id = g.id;
+                R result;
+                try {
+                    result = task.apply(g);
+                } catch (RuntimeException | OutOfMemoryError | StackOverflowError e) {
+                    if (!contain)
+                        throw e;
+                    onFailure.accept(id, e);
+                    continue;
+                }
+                sink.accept(result);
+            }
+            return;
+        }
+
+        int threads = options.threads;
+        int window = 2 * threads;
+        ExecutorService pool = createPool(options);
+        CompletionService<R> completed = new ExecutorCompletionService<>(pool);
+        ArrayDeque<Slot<R>> inFlight = new ArrayDeque<>();
+        List<Slot<R>> waiting = new ArrayList<>();
+        int running = 0;
+        try {
+            while (true) {
+                while (inFlight.size() < window && graphs.hasNext()) {
+                    Slot<R> slot = new Slot<>(graphs.next());
+                    inFlight.add(slot);
+                    waiting.add(slot);
+                }
+                while (running < threads && !waiting.isEmpty()) {
+                    Slot<R> slot = removeLargest(waiting);
+                    Graph g = slot.graph;
+                    slot.graph = null;
+                    slot.future = completed.submit(() -> task.apply(g));
+                    running++;
+                }
+                while (!inFlight.isEmpty() && inFlight.peek().future != null && inFlight.peek().future.isDone())
+                    emit(inFlight.poll(), sink, onFailure, contain);
+                if (inFlight.isEmpty() && !graphs.hasNext())
+                    return;
+                if (running > 0) {
+                    completed.take();
+                    running--;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Batch interrupted");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static <R> Slot<R> removeLargest(List<Slot<R>> waiting) {
+        int largest = 0;
+        for (int i = 1; i < waiting.size(); i++) {
+            if (waiting.get(i).size > waiting.get(largest).size)
+                largest = i;
+        }
+        return waiting.remove(largest);
+    }
+
+    private static <R> void emit(Slot<R> slot, Consumer<R> sink, BiConsumer<Integer, Throwable> onFailure,
+            boolean contain) throws InterruptedException {
+        R result;
+        try {
+            result = slot.future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (!contain || !contained(cause))
+                throw rethrow(cause);
+            onFailure.accept(slot.id, cause);
+            return;
+        }
+        sink.accept(result);
+    }
+
+    /** Failures kept to their own graph; other errors still end the batch. */
+    private static boolean contained(Throwable t) {
+        return t instanceof Exception || t instanceof OutOfMemoryError || t instanceof StackOverflowError;
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException)
+            throw (RuntimeException) cause;
+        if (cause instanceof Error)
+            throw (Error) cause;
+        throw new CompletionException(cause);
+    }
+
+    private static long size(Graph g) {
+        return (long) g.compact().vertexCount() + g.compact().edgeCount();
+    }
+
+    private static ExecutorService createPool(Options options) {
+        if (options.mode == Mode.VIRTUAL) {
+            ThreadFactory virtual = virtualThreadFactory();
+            if (virtual != null)
+                return Executors.newFixedThreadPool(options.threads, virtual);
+        }
+        return Executors.newFixedThreadPool(options.threads);
+    }
+
+    /** Thread.ofVirtual().factory() when running on Java 21+, otherwise null. */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package algorithms.cache;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import algorithms.EdgeSort;
+import algorithms.IntUnionFind;
+import algorithms.MinScan;
+import algorithms.PrimMST;
+import algorithms.metrics.MetricsSink;
+import algorithms.models.AlgorithmResult;
+import algorithms.models.CompactGraph;
+import algorithms.models.Graph;
+
+/**
+ * On-disk cache of MST results, keyed by a SHA-256 hash of the graph content
+ * and by the engine and the settings that shape its result.
+ *
+ * The hash covers the sorted vertex names and the edge triples
+ * (smaller endpoint, larger endpoint, weight) in sorted order, so it does not
+ * depend on the order vertices and edges appear in the input. Trees are
+ * stored as positions in that canonical edge order and mapped back to the
+ * edge ids of the graph being looked up.
+ *
+ * The canonical hash needs a sort of the edges, so every entry is also
+ * stored under a fingerprint of the graph as read: a non-cryptographic
+ * 128-bit hash of the names and edges in input order, taken in one linear
+ * pass. Those entries hold plain edge ids. A graph read again in the same
+ * order hits on the fingerprint, and the canonical hash is only computed
+ * when the fingerprint misses.
+ *
+ * Entries are per graph, engine name and settings. Callers pass the resolved
+ * engine name where it is known before the run (PrimMST.engineFor); a
+ * result whose engine does not match the requested name is not stored. The
+ * settings tag covers the Prim heap, -Dmst.prim.denseThreshold, the SIMD
+ * kernel (-Dmst.simd) and -Dmst.metrics. When the files exceed the size
+ * limit the least recently used ones are deleted; a hit touches the file's
+ * modification time, so recency survives restarts.
+ *
+ * A hit returns the stored tree, cost, operation count and execution time,
+ * with ResourceUsage.NONE: allocation and GC figures describe one run in one
+ * JVM and are not stored.
+ *
+ * Cache I/O never fails a run: an unreadable entry counts as a miss, and a
+ * store or delete that fails is reported once on standard error and the
+ * computed result is returned.
+ *
+ * Configured with -Dmst.cache=true|false, -Dmst.cache.dir=path (default
+ * .mst-cache) and -Dmst.cache.maxBytes=n (default 64 MiB).
+ */
+public final class ResultCache {
+
+    private static final int MAGIC = 0x4354534D; // "MSTC" read little-endian
+    private static final int VERSION = 3;
+    private static final String SUFFIX = ".mstc";
+
+    private final boolean enabled;
+    private final Path dir;
+    private final long maxBytes;
+
+    /** File name to size, least recently used first. */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong lookupNanos = new AtomicLong();
+    private final AtomicBoolean warned = new AtomicBoolean();
+
+    /**
+     * Input-order fingerprint of a graph, plus its content hash and the
+     * mapping between its edge ids and the canonical edge order once a
+     * lookup needs them.
+     */
+    public static final class GraphKey {
+        public final Graph graph;
+        /** Hex 128-bit hash of the graph in input order, or null when the cache is bypassed. */
+        public final String fingerprint;
+        private String hash;
+        private int[] position;
+        private int[] order;
+
+        private GraphKey(Graph graph, String fingerprint) {
+            this.graph = graph;
+            this.fingerprint = fingerprint;
+        }
+
+        /** Hex SHA-256 of the canonical content; sorts and hashes the graph on first use. */
+        public synchronized String hash() {
+            if (hash == null)
+                canonicalize(this);
+            return hash;
+        }
+    }
+
+    private ResultCache(boolean enabled, Path dir, long maxBytes) {
+        this.enabled = enabled;
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+    }
+
+    /** Cache that computes every result and never touches the disk. */
+    public static ResultCache disabled() {
+        return new ResultCache(false, null, 0);
+    }
+
+    public static ResultCache open(Path dir, long maxBytes) throws IOException {
+        ResultCache cache = new ResultCache(true, dir, maxBytes);
+        Files.createDirectories(dir);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        // Oldest first, so insertion order starts out as LRU order
+        Map<Path, FileTime> modified = new HashMap<>();
+        for (Path f : files)
+            modified.put(f, Files.getLastModifiedTime(f));
+        files.sort(Comparator.comparing(modified::get));
+        for (Path f : files) {
+            long size = Files.size(f);
+            cache.entries.put(f.getFileName().toString(), size);
+            cache.totalBytes += size;
+        }
+        cache.evict();
+        return cache;
+    }
+
+    /**
+     * Cache as configured by -Dmst.cache, which defaults to enabledByDefault:
+     * App caches by default, timing tools do not. A directory that cannot
+     * be opened disables the cache with a warning.
+     */
+    public static ResultCache fromSystemProperties(boolean enabledByDefault) {
+        if (!Boolean.parseBoolean(System.getProperty("mst.cache", Boolean.toString(enabledByDefault))))
+            return disabled();
+        Path dir = Paths.get(System.getProperty("mst.cache.dir", ".mst-cache"));
+        try {
+            return open(dir, Long.getLong("mst.cache.maxBytes", 64L << 20));
+        } catch (IOException e) {
+            System.err.println("Result cache: cannot open " + dir + " (" + e + "); continuing without it");
+            return disabled();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Fingerprints the graph in one pass; free when the cache is bypassed. */
+    public GraphKey key(Graph graph) {
+        if (!enabled)
+            return new GraphKey(graph, null);
+        long start = System.nanoTime();
+        GraphKey key = new GraphKey(graph, fingerprint(graph.compact()));
+        lookupNanos.addAndGet(System.nanoTime() - start);
+        return key;
+    }
+
+    /** Fills in the content hash and canonical edge order of key. */
+    private static void canonicalize(GraphKey key) {
+        CompactGraph g = key.graph.compact();
+        int n = g.vertexCount(), m = g.edgeCount();
+
+        Integer[] byName = new Integer[n];
+        for (int v = 0; v < n; v++)
+            byName[v] = v;
+        Arrays.sort(byName, Comparator.comparing(g::name));
+        int[] rank = new int[n];
+        for (int r = 0; r < n; r++)
+            rank[byName[r]] = r;
+
+        // (min rank, max rank, weight): stable counting passes over the
+        // weight order, least significant key first
+        int[] lo = new int[m], hi = new int[m];
+        for (int e = 0; e < m; e++) {
+            int a = rank[g.from(e)], b = rank[g.to(e)];
+            lo[e] = Math.min(a, b);
+            hi[e] = Math.max(a, b);
+        }
+        int[] order = countingSort(countingSort(EdgeSort.sort(g).order, hi, n), lo, n);
+        int[] position = new int[m];
+        for (int i = 0; i < m; i++)
+            position[order[i]] = i;
+
+        MessageDigest digest = sha256();
+        ByteBuffer buf = ByteBuffer.allocate(1 << 14);
+        buf.putInt(VERSION).putInt(n).putInt(m);
+        for (int r = 0; r < n; r++) {
+            byte[] name = g.name(byName[r]).getBytes(StandardCharsets.UTF_8);
+            flushIfFull(digest, buf, 4);
+            buf.putInt(name.length);
+            flush(digest, buf);
+            digest.update(name);
+        }
+        for (int e : order) {
+            flushIfFull(digest, buf, 16);
+            buf.putInt(lo[e]).putInt(hi[e]).putDouble(g.weight(e));
+        }
+        flush(digest, buf);
+        key.hash = HexFormat.of().formatHex(digest.digest());
+        key.order = order;
+        key.position = position;
+    }
+
+    /** 128-bit hash of the names and edges in input order, in hex. */
+    private static String fingerprint(CompactGraph g) {
+        int n = g.vertexCount(), m = g.edgeCount();
+        long[] lanes = { 0x243F6A8885A308D3L, 0x13198A2E03707344L };
+        mix(lanes, n);
+        mix(lanes, m);
+        for (int v = 0; v < n; v++) {
+            String name = g.name(v);
+            mix(lanes, name.length());
+            for (int i = 0; i < name.length(); i++)
+                mix(lanes, name.charAt(i));
+        }
+        for (int e = 0; e < m; e++) {
+            mix(lanes, ((long) g.from(e) << 32) | (g.to(e) & 0xFFFFFFFFL));
+            mix(lanes, Double.doubleToLongBits(g.weight(e)));
+        }
+        return String.format("%016x%016x", finish(lanes[0]), finish(lanes[1] ^ lanes[0]));
+    }
+
+    private static void mix(long[] lanes, long x) {
+        lanes[0] = Long.rotateLeft((lanes[0] ^ x) * 0x9E3779B97F4A7C15L, 31);
+        lanes[1] = Long.rotateLeft((lanes[1] + x) * 0xC2B2AE3D27D4EB4FL, 29) ^ lanes[0];
+    }
+
+    /** SplitMix64 finalizer. */
+    private static long finish(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the cached result of engine for the graph, or computes and
+     * stores it. Results without edge ids, or whose engine is not the one
+     * requested, are returned but not stored.
+     */
+    public AlgorithmResult get(GraphKey key, String engine, Function<Graph, AlgorithmResult> compute) {
+        if (!enabled)
+            return compute.apply(key.graph);
+
+        long start = System.nanoTime();
+        String tag = "-" + engine.replaceAll("[^A-Za-z0-9.-]", "_") + "-" + settingsTag() + SUFFIX;
+        String byInput = key.fingerprint + tag;
+        AlgorithmResult cached = read(key, byInput, false);
+        if (cached == null) {
+            cached = read(key, key.hash() + tag, true);
+            // Next time this input hits without sorting
+            if (cached != null)
+                write(key, byInput, cached, false);
+        }
+        lookupNanos.addAndGet(System.nanoTime() - start);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        AlgorithmResult result = compute.apply(key.graph);
+        if (result.mstEdgeIds != null && result.engine != null
+                && (result.engine.equals(engine) || result.engine.startsWith(engine + "/"))) {
+            write(key, key.hash() + tag, result, true);
+            write(key, byInput, result, false);
+        }
+        return result;
+    }
+
+    /** Hash of the settings that change what an engine returns for the same graph. */
+    private static String settingsTag() {
+        String settings = "heap=" + PrimMST.DEFAULT_HEAP.label + ";dense=" + PrimMST.getDenseThreshold()
+                + ";simd=" + MinScan.SIMD + ";metrics=" + MetricsSink.counting();
+        return String.format("%08x", settings.hashCode());
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    /** Time spent hashing graphs and reading cache files. */
+    public double lookupTimeMs() {
+        return lookupNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        if (!enabled)
+            return "Result cache: bypassed";
+        return String.format("Result cache: %d hits, %d misses, %.3f ms lookup (%s)",
+                hits(), misses(), lookupTimeMs(), dir);
+    }
+
+    /**
+     * Reads an entry; canonical entries hold positions in the canonical edge
+     * order, input-order entries hold edge ids.
+     */
+    private AlgorithmResult read(GraphKey key, String file, boolean canonical) {
+        synchronized (this) {
+            if (entries.get(file) == null)
+                return null;
+        }
+        Path path = dir.resolve(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+                throw new IOException("Not a result cache file: " + path);
+            double totalCost = in.readDouble();
+            long operationCount = in.readLong();
+            double executionTimeMs = in.readDouble();
+            String engine = in.readUTF();
+            int treeSize = in.readInt();
+            int[] tree = new int[treeSize];
+            int m = key.graph.compact().edgeCount();
+            for (int i = 0; i < treeSize; i++) {
+                int stored = in.readInt();
+                if (stored < 0 || stored >= m)
+                    throw new IOException("Edge " + stored + " out of range in " + path);
+                tree[i] = canonical ? key.order[stored] : stored;
+            }
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            IntUnionFind forest = new IntUnionFind(key.graph.compact().vertexCount());
+            for (int e : tree)
+                forest.union(key.graph.compact().from(e), key.graph.compact().to(e));
+            return new AlgorithmResult(key.graph, tree, treeSize, forest.componentLabels(), totalCost,
+                    operationCount, executionTimeMs, engine.isEmpty() ? null : engine);
+        } catch (IOException | RuntimeException e) {
+            // Unreadable or stale entry: drop it and recompute
+            remove(file);
+            return null;
+        }
+    }
+
+    /**
+     * Stores an entry through a temporary file and an atomic rename. A
+     * failure leaves the result unstored: the cache is only an optimisation.
+     */
+    private void write(GraphKey key, String file, AlgorithmResult result, boolean canonical) {
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile(dir, "entry", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeDouble(result.totalCost);
+                out.writeLong(result.operationCount);
+                out.writeDouble(result.executionTimeMs);
+                out.writeUTF(result.engine == null ? "" : result.engine);
+                out.writeInt(result.mstEdgeIds.length);
+                for (int e : result.mstEdgeIds)
+                    out.writeInt(canonical ? key.position[e] : e);
+            }
+            long size = Files.size(tmp);
+            Files.move(tmp, dir.resolve(file), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+            synchronized (this) {
+                Long old = entries.put(file, size);
+                totalBytes += size - (old == null ? 0 : old);
+                evict();
+            }
+        } catch (IOException e) {
+            warn("store " + file, e);
+        } finally {
+            if (tmp != null)
+                delete(tmp);
+        }
+    }
+
+    private synchronized void remove(String file) {
+        Long size = entries.remove(file);
+        if (size != null)
+            totalBytes -= size;
+        delete(dir.resolve(file));
+    }
+
+    private void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            warn("delete " + path.getFileName(), e);
+        }
+    }
+
+    /** Reports the first cache I/O failure on standard error; later ones are silent. */
+    private void warn(String action, IOException e) {
+        if (warned.compareAndSet(false, true))
+            System.err.println("Result cache: cannot " + action + " (" + e + "); continuing without it");
+    }
+
+    /** Deletes least recently used entries until the cache fits in maxBytes. */
+    private synchronized void evict() {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            totalBytes -= eldest.getValue();
+            delete(dir.resolve(eldest.getKey()));
+        }
+    }
+
+    private static void flushIfFull(MessageDigest digest, ByteBuffer buf, int needed) {
+        if (buf.remaining() < needed)
+            flush(digest, buf);
+    }
+
+    private static void flush(MessageDigest digest, ByteBuffer buf) {
+        digest.update(buf.array(), 0, buf.position());
+        buf.clear();
+    }
+
+    /** Stable sort of edge ids by key[e] in [0, range). */
+    private static int[] countingSort(int[] edges, int[] key, int range) {
+        int[] start = new int[range + 1];
+        for (int e : edges)
+            start[key[e] + 1]++;
+        for (int k = 0; k < range; k++)
+            start[k + 1] += start[k];
+        int[] out = new int[edges.length];
+        for (int e : edges)
+            out[start[key[e]]++] = e;
+        return out;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package algorithms.heap;
+
+/**
+ * Priority-queue implementations available to PrimMST.
+ */
+public enum HeapType {
+    BINARY("binary-heap"),
+    QUATERNARY("4ary-heap"),
+    PAIRING("pairing-heap");
+
+    public final String label;
+
+    HeapType(String label) {
+        this.label = label;
+    }
+
+    public IntPriorityQueue create(int capacity) {
+        switch (this) {
+            case BINARY:
+                return new IndexedDaryHeap(capacity, 2);
+            case QUATERNARY:
+                return new IndexedDaryHeap(capacity, 4);
+            case PAIRING:
+                return new PairingHeap(capacity);
+            default:
+                throw new IllegalStateException("Unknown heap type: " + this);
+        }
+    }
+}
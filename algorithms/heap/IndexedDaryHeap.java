@@ -0,0 +1,113 @@
+package algorithms.heap;
+
+import java.util.Arrays;
+
+/**
+ * Array-based d-ary min-heap indexed by id. pos[id] tracks where each id sits
+ * in the heap so decreaseKey can sift it up in place.
+ */
+public class IndexedDaryHeap implements IntPriorityQueue {
+    private final int arity;
+    private final int[] heap;
+    private final int[] pos;
+    private final double[] keys;
+    private int size;
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2)
+            throw new IllegalArgumentException("Heap arity must be at least 2: " + arity);
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return pos[id] >= 0;
+    }
+
+    @Override
+    public void insert(int id, double key) {
+        if (pos[id] >= 0)
+            throw new IllegalStateException("Id already in heap: " + id);
+        keys[id] = key;
+        heap[size] = id;
+        pos[id] = size;
+        siftUp(size++);
+    }
+
+    @Override
+    public void decreaseKey(int id, double key) {
+        if (pos[id] < 0)
+            throw new IllegalStateException("Id not in heap: " + id);
+        if (key > keys[id])
+            throw new IllegalArgumentException("New key is larger than current key");
+        keys[id] = key;
+        siftUp(pos[id]);
+    }
+
+    @Override
+    public int extractMin() {
+        if (size == 0)
+            throw new IllegalStateException("Heap is empty");
+        int min = heap[0];
+        pos[min] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            pos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        double key = keys[id];
+        while (i > 0) {
+            int p = (i - 1) / arity;
+            int parent = heap[p];
+            if (keys[parent] <= key)
+                break;
+            heap[i] = parent;
+            pos[parent] = i;
+            i = p;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        double key = keys[id];
+        while (true) {
+            int first = i * arity + 1;
+            if (first >= size)
+                break;
+            int last = Math.min(first + arity, size);
+            int best = first;
+            for (int c = first + 1; c < last; c++) {
+                if (keys[heap[c]] < keys[heap[best]])
+                    best = c;
+            }
+            if (keys[heap[best]] >= key)
+                break;
+            heap[i] = heap[best];
+            pos[heap[i]] = i;
+            i = best;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+}
@@ -0,0 +1,22 @@
+package algorithms.heap;
+
+/**
+ * Min-priority queue over int ids 0..n-1 with real decrease-key. Each id is
+ * held at most once, so the queue never grows beyond n entries.
+ */
+public interface IntPriorityQueue {
+
+    boolean isEmpty();
+
+    int size();
+
+    boolean contains(int id);
+
+    void insert(int id, double key);
+
+    /** Lowers the key of an id already in the queue. */
+    void decreaseKey(int id, double key);
+
+    /** Removes and returns the id with the smallest key. */
+    int extractMin();
+}
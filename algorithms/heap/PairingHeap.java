@@ -0,0 +1,132 @@
+package algorithms.heap;
+
+import java.util.Arrays;
+
+/**
+ * Pairing heap over ids 0..n-1. Nodes live in parallel arrays (first child,
+ * next sibling, previous sibling or parent), so no per-entry objects are
+ * allocated. decreaseKey cuts the subtree and melds it with the root;
+ * extractMin uses the standard two-pass pairing of the root's children.
+ */
+public class PairingHeap implements IntPriorityQueue {
+    private static final int NONE = -1;
+
+    private final double[] keys;
+    private final int[] child;
+    private final int[] next;
+    private final int[] prev;
+    private final boolean[] present;
+    private final int[] scratch;
+    private int root = NONE;
+    private int size;
+
+    public PairingHeap(int capacity) {
+        keys = new double[capacity];
+        child = new int[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        present = new boolean[capacity];
+        scratch = new int[capacity];
+        Arrays.fill(child, NONE);
+        Arrays.fill(next, NONE);
+        Arrays.fill(prev, NONE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return present[id];
+    }
+
+    @Override
+    public void insert(int id, double key) {
+        if (present[id])
+            throw new IllegalStateException("Id already in heap: " + id);
+        keys[id] = key;
+        child[id] = next[id] = prev[id] = NONE;
+        present[id] = true;
+        size++;
+        root = root == NONE ? id : meld(root, id);
+    }
+
+    @Override
+    public void decreaseKey(int id, double key) {
+        if (!present[id])
+            throw new IllegalStateException("Id not in heap: " + id);
+        if (key > keys[id])
+            throw new IllegalArgumentException("New key is larger than current key");
+        keys[id] = key;
+        if (id == root)
+            return;
+
+        // Detach id's subtree from its parent or sibling list
+        int p = prev[id];
+        if (child[p] == id)
+            child[p] = next[id];
+        else
+            next[p] = next[id];
+        if (next[id] != NONE)
+            prev[next[id]] = p;
+        next[id] = prev[id] = NONE;
+
+        root = meld(root, id);
+    }
+
+    @Override
+    public int extractMin() {
+        if (size == 0)
+            throw new IllegalStateException("Heap is empty");
+        int min = root;
+        present[min] = false;
+        size--;
+
+        // First pass: meld children pairwise left to right
+        int count = 0;
+        int c = child[min];
+        while (c != NONE) {
+            int a = c;
+            int b = next[a];
+            c = b == NONE ? NONE : next[b];
+            next[a] = prev[a] = NONE;
+            if (b != NONE) {
+                next[b] = prev[b] = NONE;
+                a = meld(a, b);
+            }
+            scratch[count++] = a;
+        }
+
+        // Second pass: meld the pairs right to left
+        int r = NONE;
+        for (int i = count - 1; i >= 0; i--)
+            r = r == NONE ? scratch[i] : meld(scratch[i], r);
+
+        child[min] = NONE;
+        root = r;
+        return min;
+    }
+
+    /** Links two detached roots and returns the surviving root. */
+    private int meld(int a, int b) {
+        if (keys[b] < keys[a]) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        int first = child[a];
+        next[b] = first;
+        if (first != NONE)
+            prev[first] = b;
+        prev[b] = a;
+        child[a] = b;
+        return a;
+    }
+}
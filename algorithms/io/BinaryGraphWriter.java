@@ -0,0 +1,358 @@
+package algorithms.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import algorithms.models.CompactGraph;
+
+/**
+ * Writes graphs in the binary container format read by MappedGraphFile.
+ *
+ * Layout (little-endian, sections 8-byte aligned):
+ *
+ * <pre>
+ * header   magic "MSTG", version, graphCount, reserved, long indexOffset
+ * section  per graph:
+ *            int V, int E, int flags, int reserved,
+ *            long namesOffset, long edgesOffset, long csrOffset, long length
+ *            names: int[V + 1] byte offsets, then UTF-8 name bytes
+ *            edges: int[E] from, int[E] to, float[E] weight
+ *            csr:   int[V + 1] offset, int[2E] target, int[2E] edge id  (flag bit 0)
+ * index    per graph: int id, int reserved, long sectionOffset
+ * </pre>
+ *
+ * Section offsets are relative to the section start, so a section can be
+ * copied between files unchanged (copyGraphs). The index sits at the end so
+ * graphs can be written one at a time; the header is patched on close.
+ *
+ * Graphs too large for the heap are written from a replayable EdgeStream:
+ * the stream is run once to count edges and once per edge array, so only
+ * the vertex names pass through memory.
+ *
+ * MappedGraphFile maps every array with its own FileChannel.map call, and
+ * one mapping holds at most Integer.MAX_VALUE bytes, so a graph is limited
+ * to MAX_EDGES edges (MAX_EDGES_WITH_CSR when CSR adjacency is stored).
+ *
+ * If a write fails part way (a weight that is not a float, an I/O error, a
+ * failing EdgeStream), the container is unusable: close() then deletes the
+ * file instead of writing the header and index.
+ */
+public class BinaryGraphWriter implements Closeable {
+    static final int MAGIC = 0x4754534D; // "MSTG" read little-endian
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    static final int SECTION_HEADER_BYTES = 48;
+    static final int INDEX_ENTRY_BYTES = 16;
+    static final int FLAG_CSR = 1;
+
+    /** Largest edge count whose from, to and weight arrays each fit one mapping. */
+    public static final int MAX_EDGES = Integer.MAX_VALUE / 4;
+    /** Largest edge count whose CSR target and edge id arrays each fit one mapping. */
+    public static final int MAX_EDGES_WITH_CSR = Integer.MAX_VALUE / 8;
+
+    /** Receives the edges of an EdgeStream. */
+    public interface EdgeConsumer {
+        void edge(int from, int to, double weight) throws IOException;
+    }
+
+    /** Edge list that can be produced more than once, in the same order every time. */
+    public interface EdgeStream {
+        void forEach(EdgeConsumer consumer) throws IOException;
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+    private final List<long[]> index = new ArrayList<>();
+    private long position;
+    private boolean failed;
+
+    public BinaryGraphWriter(Path path) throws IOException {
+        this.path = path;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        position = HEADER_BYTES;
+    }
+
+    /**
+     * Appends one graph. Weights are stored as float; a weight that does not
+     * round-trip exactly through float is rejected rather than silently
+     * rounded.
+     */
+    public void write(int id, CompactGraph g, boolean withAdjacency) throws IOException {
+        ensureWritable();
+        try {
+            int n = g.vertexCount();
+            int m = g.edgeCount();
+            checkEdgeCount(id, m, withAdjacency);
+
+            long nameBytes = nameBytes(n, g::name);
+            long start = writeHeaderAndNames(id, n, m, g::name, nameBytes, withAdjacency);
+            for (int e = 0; e < m; e++)
+                putInt(g.from(e));
+            for (int e = 0; e < m; e++)
+                putInt(g.to(e));
+            for (int e = 0; e < m; e++)
+                putWeight(id, e, g.weight(e));
+
+            if (withAdjacency) {
+                pad(start + csrOffset(n, m, nameBytes) - position);
+                for (int v = 0; v <= n; v++)
+                    putInt(g.offset(v));
+                for (int i = 0; i < 2 * m; i++)
+                    putInt(g.target(i));
+                for (int i = 0; i < 2 * m; i++)
+                    putInt(g.edgeAt(i));
+            }
+            index.add(new long[] { id, start });
+        } catch (IOException | RuntimeException | Error e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Appends one graph from a replayable edge stream, without CSR adjacency
+     * (MappedGraphFile builds it on first use). Weights follow the same float
+     * rule as write(int, CompactGraph, boolean).
+     */
+    public void write(int id, int vertexCount, IntFunction<String> name, EdgeStream edges) throws IOException {
+        ensureWritable();
+        try {
+            long[] count = { 0 };
+            edges.forEach((u, v, w) -> count[0]++);
+            checkEdgeCount(id, count[0], false);
+            int m = (int) count[0];
+
+            long start = writeHeaderAndNames(id, vertexCount, m, name, nameBytes(vertexCount, name), false);
+            edges.forEach((u, v, w) -> putInt(u));
+            edges.forEach((u, v, w) -> putInt(v));
+            int[] e = { 0 };
+            edges.forEach((u, v, w) -> putWeight(id, e[0]++, w));
+            if (e[0] != m)
+                throw new IOException("Graph " + id + ": edge stream replayed " + e[0] + " edges, not " + m);
+            index.add(new long[] { id, start });
+        } catch (IOException | RuntimeException | Error e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Appends every graph of another container. Sections are position
+     * independent, so their bytes are copied unchanged.
+     */
+    public void copyGraphs(Path container) throws IOException {
+        ensureWritable();
+        try {
+            copySections(container);
+        } catch (IOException | RuntimeException | Error e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    private void copySections(Path container) throws IOException {
+        try (FileChannel in = FileChannel.open(container, StandardOpenOption.READ)) {
+            ByteBuffer header = read(in, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+                throw new IOException("Not an MST graph container: " + container);
+            int count = header.getInt(8);
+            ByteBuffer entries = read(in, header.getLong(16), (long) count * INDEX_ENTRY_BYTES);
+            for (int i = 0; i < count; i++) {
+                int id = entries.getInt(i * INDEX_ENTRY_BYTES);
+                long offset = entries.getLong(i * INDEX_ENTRY_BYTES + 8);
+                long length = read(in, offset, SECTION_HEADER_BYTES).getLong(40);
+                if (offset + length > in.size())
+                    throw new IOException("Truncated section of graph " + id + " in " + container);
+
+                long start = align(position, 8);
+                pad(start - position);
+                flush();
+                for (long done = 0; done < length;)
+                    done += in.transferTo(offset + done, length - done, channel.position(start + done));
+                position = start + length;
+                index.add(new long[] { id, start });
+            }
+        }
+    }
+
+    /**
+     * Writes the section header and names; returns the section start. The
+     * caller adds the index entry once the rest of the section is written.
+     */
+    private long writeHeaderAndNames(int id, int n, int m, IntFunction<String> name, long nameBytes,
+            boolean withAdjacency) throws IOException {
+        long namesOffset = SECTION_HEADER_BYTES;
+        long edgesOffset = edgesOffset(n, nameBytes);
+        long csrOffset = withAdjacency ? csrOffset(n, m, nameBytes) : 0;
+        long length = withAdjacency ? csrOffset + 4L * (n + 1) + 16L * m : edgesOffset + 12L * m;
+
+        long start = align(position, 8);
+        pad(start - position);
+
+        putInt(n);
+        putInt(m);
+        putInt(withAdjacency ? FLAG_CSR : 0);
+        putInt(0);
+        putLong(namesOffset);
+        putLong(edgesOffset);
+        putLong(csrOffset);
+        putLong(length);
+
+        // Names are encoded twice (lengths, then bytes) rather than held
+        int nameOffset = 0;
+        putInt(0);
+        for (int v = 0; v < n; v++) {
+            nameOffset += utf8(name.apply(v)).length;
+            putInt(nameOffset);
+        }
+        for (int v = 0; v < n; v++)
+            putBytes(utf8(name.apply(v)));
+        pad(start + edgesOffset - position);
+        return start;
+    }
+
+    private void ensureWritable() throws IOException {
+        if (failed)
+            throw new IOException("An earlier write failed; " + path + " will be deleted on close");
+    }
+
+    private static void checkEdgeCount(int id, long m, boolean withAdjacency) {
+        long max = withAdjacency ? MAX_EDGES_WITH_CSR : MAX_EDGES;
+        if (m > max)
+            throw new IllegalArgumentException("Graph " + id + " has " + m
+                    + " edges; one mapped array holds at most " + max);
+    }
+
+    private static long nameBytes(int n, IntFunction<String> name) {
+        long bytes = 0;
+        for (int v = 0; v < n; v++)
+            bytes += utf8(name.apply(v)).length;
+        return bytes;
+    }
+
+    private static long edgesOffset(int n, long nameBytes) {
+        return align(SECTION_HEADER_BYTES + 4L * (n + 1) + nameBytes, 8);
+    }
+
+    private static long csrOffset(int n, int m, long nameBytes) {
+        return align(edgesOffset(n, nameBytes) + 12L * m, 8);
+    }
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer read(FileChannel in, long offset, long length) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate((int) length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buf.hasRemaining()) {
+            if (in.read(buf, offset + buf.position()) < 0)
+                throw new IOException("Truncated container");
+        }
+        return buf.flip();
+    }
+
+    private void putWeight(int id, int e, double w) throws IOException {
+        if ((float) w != w)
+            throw new IllegalArgumentException(String.format(
+                    "Graph %d edge %d: weight %s is not exactly representable as float", id, e, w));
+        putFloat((float) w);
+    }
+
+    /**
+     * Writes the index and header. After a failed write the container is
+     * incomplete, so the file is deleted instead.
+     */
+    @Override
+    public void close() throws IOException {
+        if (failed) {
+            try {
+                channel.close();
+            } finally {
+                Files.deleteIfExists(path);
+            }
+            return;
+        }
+        try {
+            long indexOffset = align(position, 8);
+            pad(indexOffset - position);
+            for (long[] entry : index) {
+                putInt((int) entry[0]);
+                putInt(0);
+                putLong(entry[1]);
+            }
+            flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(index.size()).putInt(0).putLong(indexOffset).flip();
+            while (header.hasRemaining())
+                channel.write(header, header.position());
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static long align(long value, int alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+
+    private void pad(long bytes) throws IOException {
+        for (long i = 0; i < bytes; i++) {
+            ensure(1);
+            buf.put((byte) 0);
+        }
+        position += bytes;
+    }
+
+    private void putInt(int value) throws IOException {
+        ensure(4);
+        buf.putInt(value);
+        position += 4;
+    }
+
+    private void putFloat(float value) throws IOException {
+        ensure(4);
+        buf.putFloat(value);
+        position += 4;
+    }
+
+    private void putLong(long value) throws IOException {
+        ensure(8);
+        buf.putLong(value);
+        position += 8;
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        for (int i = 0; i < bytes.length;) {
+            ensure(1);
+            int len = Math.min(bytes.length - i, buf.remaining());
+            buf.put(bytes, i, len);
+            i += len;
+        }
+        position += bytes.length;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buf.remaining() < bytes)
+            flush();
+    }
+
+    private void flush() throws IOException {
+        buf.flip();
+        long at = position - buf.remaining();
+        while (buf.hasRemaining())
+            at += channel.write(buf, at);
+        buf.clear();
+    }
+}
@@ -0,0 +1,171 @@
+package algorithms.io;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+import com.google.gson.stream.JsonReader;
+
+import algorithms.jfr.MSTEvents;
+import algorithms.models.CompactGraph;
+import algorithms.models.Graph;
+
+/**
+ * Streaming reader for the assignment input schema:
+ *
+ * <pre>
+ * { "graphs": [ { "id": 1, "nodes": ["A", ...],
+ *                 "edges": [ { "from": "A", "to": "B", "weight": 4 }, ... ] }, ... ] }
+ * </pre>
+ *
+ * Graphs are returned one at a time and edges go straight into a
+ * CompactGraph.Builder, so at most one graph is held in memory. For the same
+ * reason "nodes" must come before "edges" in each graph object. With
+ * -Dmst.offheap=true the graphs are built in native memory and the caller
+ * closes each one when done with it.
+ */
+public class GraphJsonReader implements GraphSource {
+    private final JsonReader reader;
+    private boolean inGraphs;
+    private boolean finished;
+
+    public GraphJsonReader(Reader in) {
+        this.reader = new JsonReader(in);
+    }
+
+    public static GraphJsonReader open(String path) throws IOException {
+        return new GraphJsonReader(new BufferedReader(new InputStreamReader(
+                new FileInputStream(path), StandardCharsets.UTF_8), 1 << 16));
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (finished)
+                return false;
+            if (!inGraphs)
+                seekGraphs();
+            if (inGraphs && reader.hasNext())
+                return true;
+            finish();
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Graph next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        try {
+            return readGraph();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /** Advances to the first element of the top-level "graphs" array. */
+    private void seekGraphs() throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("graphs")) {
+                reader.beginArray();
+                inGraphs = true;
+                return;
+            }
+            reader.skipValue();
+        }
+        finished = true;
+    }
+
+    private void finish() throws IOException {
+        if (inGraphs) {
+            reader.endArray();
+            inGraphs = false;
+        }
+        finished = true;
+    }
+
+    private Graph readGraph() throws IOException {
+        MSTEvents.GraphParse parse = new MSTEvents.GraphParse();
+        parse.begin();
+        int id = 0;
+        CompactGraph.Builder builder = CompactGraph.Builder.forDefaultStorage();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = reader.nextInt();
+                    break;
+                case "nodes":
+                    reader.beginArray();
+                    while (reader.hasNext())
+                        addVertex(builder, reader.nextString());
+                    reader.endArray();
+                    break;
+                case "edges":
+                    reader.beginArray();
+                    while (reader.hasNext())
+                        readEdge(builder);
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        MSTEvents.AdjacencyBuild build = new MSTEvents.AdjacencyBuild();
+        build.begin();
+        Graph graph = new Graph(id, builder.build());
+        build.finish(graph, null);
+        parse.finish(graph, null);
+        return graph;
+    }
+
+    private void readEdge(CompactGraph.Builder builder) throws IOException {
+        String from = null, to = null;
+        double weight = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "from":
+                    from = reader.nextString();
+                    break;
+                case "to":
+                    to = reader.nextString();
+                    break;
+                case "weight":
+                    weight = reader.nextDouble();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (from == null || to == null)
+            throw new IOException("Edge without endpoints at " + reader.getPath());
+        try {
+            builder.addEdge(from, to, weight);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage() + " at " + reader.getPath(), e);
+        }
+    }
+
+    private void addVertex(CompactGraph.Builder builder, String name) throws IOException {
+        try {
+            builder.addVertex(name);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage() + " at " + reader.getPath(), e);
+        }
+    }
+}
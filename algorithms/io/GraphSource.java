@@ -0,0 +1,24 @@
+package algorithms.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import algorithms.models.Graph;
+
+/**
+ * A closeable stream of graphs read from a dataset file.
+ */
+public interface GraphSource extends Iterator<Graph>, Closeable {
+
+    /**
+     * Opens a dataset by extension: binary container files (.mstg) are
+     * memory-mapped, anything else is streamed as JSON.
+     */
+    static GraphSource open(String path) throws IOException {
+        if (path.endsWith(MappedGraphFile.EXTENSION))
+            return MappedGraphFile.open(Path.of(path)).source();
+        return GraphJsonReader.open(path);
+    }
+}
@@ -0,0 +1,366 @@
+package algorithms.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import algorithms.jfr.MSTEvents;
+import algorithms.models.CompactGraph;
+import algorithms.models.CsrAdjacency;
+import algorithms.models.Graph;
+
+/**
+ * Read-only access to a binary container written by BinaryGraphWriter.
+ *
+ * Only the header and index are read on open. graph(i) and graphById(id)
+ * map that graph's arrays with FileChannel.map and return a Graph whose
+ * CompactGraph reads them in place, so no graph before it is touched and
+ * edge data is never copied onto the heap. If a section was written without
+ * CSR adjacency, it is built on the heap the first time an engine asks for it.
+ *
+ * Every offset and length read from the file is checked against the file
+ * size before it is mapped, and graph(i) checks the data once when it maps
+ * the graph: edge endpoints and adjacency entries must be in range and the
+ * name and adjacency offsets must not decrease. A truncated or corrupt
+ * container therefore fails with an IOException instead of an index error
+ * inside an engine. The check reads every array once, O(V + E). Each array is a separate mapping of at most 2 GB, which
+ * limits a graph to BinaryGraphWriter.MAX_EDGES edges.
+ */
+public class MappedGraphFile implements Closeable, Iterable<Graph> {
+    public static final String EXTENSION = ".mstg";
+
+    private final FileChannel channel;
+    private final long size;
+    private final int[] ids;
+    private final long[] offsets;
+    private final Map<Integer, Integer> positionById = new HashMap<>();
+
+    private MappedGraphFile(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+
+        if (size < BinaryGraphWriter.HEADER_BYTES)
+            throw new IOException("Not an MST graph container (" + size + " bytes)");
+        ByteBuffer header = map(0, BinaryGraphWriter.HEADER_BYTES);
+        if (header.getInt(0) != BinaryGraphWriter.MAGIC)
+            throw new IOException("Not an MST graph container (bad magic)");
+        if (header.getInt(4) != BinaryGraphWriter.VERSION)
+            throw new IOException("Unsupported container version " + header.getInt(4));
+        int count = header.getInt(8);
+        long indexOffset = header.getLong(16);
+        if (count < 0 || !fits(indexOffset, (long) count * BinaryGraphWriter.INDEX_ENTRY_BYTES))
+            throw new IOException("Corrupt container: index of " + count + " graphs at " + indexOffset
+                    + " does not fit in " + size + " bytes");
+
+        ids = new int[count];
+        offsets = new long[count];
+        if (count > 0) {
+            ByteBuffer index = map(indexOffset, (long) count * BinaryGraphWriter.INDEX_ENTRY_BYTES);
+            for (int i = 0; i < count; i++) {
+                ids[i] = index.getInt(i * BinaryGraphWriter.INDEX_ENTRY_BYTES);
+                offsets[i] = index.getLong(i * BinaryGraphWriter.INDEX_ENTRY_BYTES + 8);
+                positionById.putIfAbsent(ids[i], i);
+            }
+        }
+    }
+
+    public static MappedGraphFile open(Path path) throws IOException {
+        return new MappedGraphFile(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    public int graphCount() {
+        return ids.length;
+    }
+
+    /** Id of the i-th graph in file order. */
+    public int id(int i) {
+        return ids[i];
+    }
+
+    /** The i-th graph in file order. */
+    public Graph graph(int i) throws IOException {
+        long base = offsets[i];
+        if (!fits(base, BinaryGraphWriter.SECTION_HEADER_BYTES))
+            throw corrupt(i, "section header");
+        ByteBuffer h = map(base, BinaryGraphWriter.SECTION_HEADER_BYTES);
+        int n = h.getInt(0);
+        int m = h.getInt(4);
+        int flags = h.getInt(8);
+        long namesOffset = base + h.getLong(16);
+        long edgesOffset = base + h.getLong(24);
+        long csrOffset = base + h.getLong(32);
+        long end = base + h.getLong(40);
+        boolean csr = (flags & BinaryGraphWriter.FLAG_CSR) != 0;
+
+        if (n < 0 || m < 0 || m > (csr ? BinaryGraphWriter.MAX_EDGES_WITH_CSR : BinaryGraphWriter.MAX_EDGES))
+            throw corrupt(i, "V=" + n + ", E=" + m);
+        if (end < base || end > size)
+            throw corrupt(i, "section length");
+        checkArray(i, "name offsets", namesOffset, 4L * (n + 1), end);
+        checkArray(i, "edges", edgesOffset, 12L * m, end);
+        if (csr)
+            checkArray(i, "adjacency", csrOffset, 4L * (n + 1) + 16L * m, end);
+
+        IntBuffer nameOffsets = map(namesOffset, 4L * (n + 1)).asIntBuffer();
+        checkArray(i, "names", namesOffset + 4L * (n + 1), nameOffsets.get(n), edgesOffset);
+        ByteBuffer nameBytes = map(namesOffset + 4L * (n + 1), nameOffsets.get(n));
+        IntBuffer from = map(edgesOffset, 4L * m).asIntBuffer();
+        IntBuffer to = map(edgesOffset + 4L * m, 4L * m).asIntBuffer();
+        FloatBuffer weight = map(edgesOffset + 8L * m, 4L * m).asFloatBuffer();
+
+        checkNameOffsets(i, nameOffsets, n);
+        checkRange(i, "edge endpoint", from, n);
+        checkRange(i, "edge endpoint", to, n);
+
+        MappedCompactGraph g = new MappedCompactGraph(ids[i], n, m, nameOffsets, nameBytes, from, to, weight);
+        if (csr) {
+            Adjacency adjacency = new Adjacency(
+                    map(csrOffset, 4L * (n + 1)).asIntBuffer(),
+                    map(csrOffset + 4L * (n + 1), 8L * m).asIntBuffer(),
+                    map(csrOffset + 4L * (n + 1) + 8L * m, 8L * m).asIntBuffer());
+            checkCsrOffsets(i, adjacency.offset, n, m);
+            checkRange(i, "adjacency target", adjacency.target, n);
+            checkRange(i, "adjacency edge id", adjacency.edgeIndex, m);
+            g.adjacency = adjacency;
+        }
+        return new Graph(ids[i], g);
+    }
+
+    /** Graph with the given id, found through the index without reading earlier graphs. */
+    public Graph graphById(int id) throws IOException {
+        Integer i = positionById.get(id);
+        if (i == null)
+            throw new NoSuchElementException("No graph with id " + id);
+        return graph(i);
+    }
+
+    @Override
+    public Iterator<Graph> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < ids.length;
+            }
+
+            @Override
+            public Graph next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                try {
+                    return graph(next++);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /** All graphs in file order as a GraphSource that closes this file. */
+    public GraphSource source() {
+        Iterator<Graph> it = iterator();
+        return new GraphSource() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Graph next() {
+                return it.next();
+            }
+
+            @Override
+            public void close() throws IOException {
+                MappedGraphFile.this.close();
+            }
+        };
+    }
+
+    /** Mapped regions stay valid after the channel is closed. */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean fits(long offset, long length) {
+        return offset >= 0 && length >= 0 && offset <= size - length;
+    }
+
+    /** Throws unless [offset, offset + length) lies within the section, which ends at end. */
+    private void checkArray(int i, String what, long offset, long length, long end) throws IOException {
+        if (offset < offsets[i] || length < 0 || length > Integer.MAX_VALUE || offset > end - length)
+            throw corrupt(i, what);
+    }
+
+    /** Name offsets must start at 0 and never decrease; the last one was checked against the names array. */
+    private void checkNameOffsets(int i, IntBuffer offsets, int n) throws IOException {
+        int previous = 0;
+        for (int v = 0; v <= n; v++) {
+            int o = offsets.get(v);
+            if (v == 0 ? o != 0 : o < previous)
+                throw corrupt(i, "name offset " + v);
+            previous = o;
+        }
+    }
+
+    /** CSR offsets must run from 0 to 2E without decreasing. */
+    private void checkCsrOffsets(int i, IntBuffer offsets, int n, int m) throws IOException {
+        int previous = 0;
+        for (int v = 0; v <= n; v++) {
+            int o = offsets.get(v);
+            if (v == 0 ? o != 0 : o < previous)
+                throw corrupt(i, "adjacency offset " + v);
+            previous = o;
+        }
+        if (previous != 2 * m)
+            throw corrupt(i, "adjacency offset " + n);
+    }
+
+    /** Every value of ints must lie in [0, bound). */
+    private void checkRange(int i, String what, IntBuffer ints, int bound) throws IOException {
+        for (int k = 0, limit = ints.limit(); k < limit; k++) {
+            int value = ints.get(k);
+            if (value < 0 || value >= bound)
+                throw corrupt(i, what + " " + value + " at " + k);
+        }
+    }
+
+    private IOException corrupt(int i, String what) {
+        return new IOException("Corrupt container: graph " + ids[i] + " at offset " + offsets[i]
+                + " has an invalid " + what + " (file is " + size + " bytes)");
+    }
+
+    private ByteBuffer map(long offset, long length) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static final class Adjacency {
+        final IntBuffer offset;
+        final IntBuffer target;
+        final IntBuffer edgeIndex;
+
+        Adjacency(IntBuffer offset, IntBuffer target, IntBuffer edgeIndex) {
+            this.offset = offset;
+            this.target = target;
+            this.edgeIndex = edgeIndex;
+        }
+    }
+
+    /** CompactGraph reading straight from mapped buffers. */
+    private static final class MappedCompactGraph extends CompactGraph {
+        /** For the AdjacencyBuild event of a lazily built CSR. */
+        private final int graphId;
+        private final int vertexCount;
+        private final int edgeCount;
+        private final IntBuffer nameOffsets;
+        private final ByteBuffer nameBytes;
+        private final IntBuffer from;
+        private final IntBuffer to;
+        private final FloatBuffer weight;
+        private volatile Adjacency adjacency;
+        private volatile Map<String, Integer> ids;
+
+        MappedCompactGraph(int graphId, int vertexCount, int edgeCount, IntBuffer nameOffsets, ByteBuffer nameBytes,
+                IntBuffer from, IntBuffer to, FloatBuffer weight) {
+            this.graphId = graphId;
+            this.vertexCount = vertexCount;
+            this.edgeCount = edgeCount;
+            this.nameOffsets = nameOffsets;
+            this.nameBytes = nameBytes;
+            this.from = from;
+            this.to = to;
+            this.weight = weight;
+        }
+
+        @Override
+        public int vertexCount() {
+            return vertexCount;
+        }
+
+        @Override
+        public int edgeCount() {
+            return edgeCount;
+        }
+
+        @Override
+        public String name(int v) {
+            int start = nameOffsets.get(v);
+            byte[] bytes = new byte[nameOffsets.get(v + 1) - start];
+            nameBytes.get(start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int id(String name) {
+            Map<String, Integer> map = ids;
+            if (map == null) {
+                synchronized (this) {
+                    if ((map = ids) == null) {
+                        map = new HashMap<>(vertexCount * 2);
+                        for (int v = 0; v < vertexCount; v++)
+                            map.putIfAbsent(name(v), v);
+                        ids = map;
+                    }
+                }
+            }
+            Integer id = map.get(name);
+            return id == null ? -1 : id;
+        }
+
+        @Override
+        public int from(int e) {
+            return from.get(e);
+        }
+
+        @Override
+        public int to(int e) {
+            return to.get(e);
+        }
+
+        @Override
+        public double weight(int e) {
+            return weight.get(e);
+        }
+
+        @Override
+        public int offset(int v) {
+            return adjacency().offset.get(v);
+        }
+
+        @Override
+        public int target(int i) {
+            return adjacency().target.get(i);
+        }
+
+        @Override
+        public int edgeAt(int i) {
+            return adjacency().edgeIndex.get(i);
+        }
+
+        private Adjacency adjacency() {
+            Adjacency a = adjacency;
+            if (a == null) {
+                synchronized (this) {
+                    if ((a = adjacency) == null) {
+                        MSTEvents.AdjacencyBuild build = new MSTEvents.AdjacencyBuild();
+                        build.begin();
+                        CsrAdjacency csr = CsrAdjacency.build(this);
+                        build.finish(graphId, vertexCount, edgeCount, null);
+                        a = new Adjacency(IntBuffer.wrap(csr.offset), IntBuffer.wrap(csr.target),
+                                IntBuffer.wrap(csr.edgeIndex));
+                        adjacency = a;
+                    }
+                }
+            }
+            return a;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package algorithms.io;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import com.google.gson.stream.JsonWriter;
+
+import algorithms.models.AlgorithmResult;
+import algorithms.models.MSTResult;
+
+/**
+ * Streaming writer for the App output schema:
+ *
+ * <pre>
+ * { "results": [ { "graphId": 1, "inputStats": { "vertexCount": 5, "edgeCount": 7 },
+ *                  "prim": { ... }, "kruskal": { ... } }, ... ] }
+ * </pre>
+ *
+ * Each algorithm entry also carries componentCount and, for disconnected
+ * inputs, the vertex count, edge count and cost of every component's tree.
+ *
+ * Each result is written as soon as it is passed to write, so only the
+ * result being written is held in memory. The detail level decides how the
+ * tree itself is written; output is compact unless pretty printing is asked
+ * for.
+ */
+public class ResultJsonWriter implements Closeable {
+
+    public enum Detail {
+        /** Tree edges as {from, to, weight} objects, as the original output. */
+        FULL,
+        /** Tree edges as an array of input edge ids ("mstEdgeIds"). */
+        INDICES,
+        /** Cost, operation count and time only. */
+        SUMMARY;
+
+        /** Reads -Dmst.output.detail=full|indices|summary (default full). */
+        public static Detail fromSystemProperties() {
+            return valueOf(System.getProperty("mst.output.detail", "full").toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final JsonWriter writer;
+    private final Detail detail;
+
+    public ResultJsonWriter(Writer out, Detail detail, boolean pretty) throws IOException {
+        this.writer = new JsonWriter(out);
+        this.detail = detail;
+        if (pretty)
+            writer.setIndent("  ");
+        writer.beginObject();
+        writer.name("results").beginArray();
+    }
+
+    public static ResultJsonWriter open(String path, Detail detail, boolean pretty) throws IOException {
+        return new ResultJsonWriter(new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(path), StandardCharsets.UTF_8), 1 << 16), detail, pretty);
+    }
+
+    public void write(MSTResult result) throws IOException {
+        writer.beginObject();
+        writer.name("graphId").value(result.graphId);
+        writer.name("inputStats").beginObject()
+                .name("vertexCount").value(result.inputStats.vertexCount)
+                .name("edgeCount").value(result.inputStats.edgeCount)
+                .endObject();
+        writer.name("prim");
+        writeAlgorithm(result.prim);
+        writer.name("kruskal");
+        writeAlgorithm(result.kruskal);
+        writer.endObject();
+    }
+
+    private void writeAlgorithm(AlgorithmResult r) throws IOException {
+        writer.beginObject();
+        if (detail == Detail.FULL) {
+            writer.name("mstEdges").beginArray();
+            for (int i = 0, n = r.mstEdges.size(); i < n; i++) {
+                writer.beginObject()
+                        .name("from").value(r.edgeFrom(i))
+                        .name("to").value(r.edgeTo(i))
+                        .name("weight").value(r.edgeWeight(i))
+                        .endObject();
+            }
+            writer.endArray();
+        } else if (detail == Detail.INDICES) {
+            if (r.mstEdgeIds == null)
+                throw new IllegalStateException("Engine " + r.engine + " did not record tree edge ids");
+            writer.name("mstEdgeIds").beginArray();
+            for (int e : r.mstEdgeIds)
+                writer.value(e);
+            writer.endArray();
+        }
+        writer.name("totalCost").value(r.totalCost);
+        if (r.components != null) {
+            writer.name("componentCount").value(r.components.size());
+            if (detail != Detail.SUMMARY && r.components.size() > 1) {
+                writer.name("components").beginArray();
+                for (AlgorithmResult.Component c : r.components) {
+                    writer.beginObject()
+                            .name("vertexCount").value(c.vertexCount)
+                            .name("edgeCount").value(c.edgeCount)
+                            .name("cost").value(c.cost)
+                            .endObject();
+                }
+                writer.endArray();
+            }
+        }
+        writer.name("operationCount").value(r.operationCount);
+        writer.name("executionTimeMs").value(r.executionTimeMs);
+        if (r.engine != null)
+            writer.name("engine").value(r.engine);
+        writer.endObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.endArray();
+        writer.endObject();
+        writer.close();
+    }
+}
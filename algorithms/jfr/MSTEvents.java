@@ -0,0 +1,112 @@
+package algorithms.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import algorithms.models.Graph;
+
+/**
+ * Java Flight Recorder events for the phases of loading a graph and running
+ * an MST engine, so a recording of a slow run shows whether the time went to
+ * parsing, adjacency, sorting, the union-find pass, the Prim loop or
+ * building the result.
+ *
+ * Every phase is bracketed the same way:
+ *
+ * <pre>
+ * MSTEvents.EdgeSort sort = new MSTEvents.EdgeSort();
+ * sort.begin();
+ * ... phase ...
+ * sort.finish(graph, engine);
+ * </pre>
+ *
+ * The events are disabled unless a recording turns them on
+ * (docs/mst-profiling.jfc does). While they are off, begin and shouldCommit
+ * do nothing, the fields are never filled in, and escape analysis removes
+ * the allocation, so an unrecorded run pays next to nothing.
+ */
+public final class MSTEvents {
+
+    private MSTEvents() {
+    }
+
+    @Category({ "MST", "Phases" })
+    @Enabled(false)
+    @StackTrace(false)
+    public abstract static class Phase extends Event {
+        @Label("Graph Id")
+        int graphId;
+
+        @Label("Vertices")
+        int vertices;
+
+        @Label("Edges")
+        int edges;
+
+        @Label("Engine")
+        @Description("Engine name as in AlgorithmResult.engine; empty for loading phases")
+        String engine;
+
+        /** Ends the phase and commits it if a recording asks for it. */
+        public final void finish(int graphId, int vertices, int edges, String engine) {
+            end();
+            if (shouldCommit())
+                commitWith(graphId, vertices, edges, engine);
+        }
+
+        public final void finish(Graph graph, String engine) {
+            end();
+            if (shouldCommit())
+                commitWith(graph.id, graph.compact().vertexCount(), graph.compact().edgeCount(), engine);
+        }
+
+        private void commitWith(int graphId, int vertices, int edges, String engine) {
+            this.graphId = graphId;
+            this.vertices = vertices;
+            this.edges = edges;
+            this.engine = engine == null ? "" : engine;
+            commit();
+        }
+    }
+
+    @Name("mst.GraphParse")
+    @Label("Graph Parse")
+    @Description("Reading one graph of the JSON input, including building its storage")
+    public static final class GraphParse extends Phase {
+    }
+
+    @Name("mst.AdjacencyBuild")
+    @Label("Adjacency Build")
+    @Description("Building the compact edge arrays and CSR adjacency of one graph")
+    public static final class AdjacencyBuild extends Phase {
+    }
+
+    @Name("mst.EdgeSort")
+    @Label("Edge Sort")
+    @Description("Sorting edge ids by (weight, id)")
+    public static final class EdgeSort extends Phase {
+    }
+
+    @Name("mst.UnionFindPass")
+    @Label("Union-Find Pass")
+    @Description("Kruskal's pass over the sorted edges")
+    public static final class UnionFindPass extends Phase {
+    }
+
+    @Name("mst.PrimLoop")
+    @Label("Prim Extract/Relax Loop")
+    @Description("Prim's extract-min and relax loop over all components, heap or dense scan")
+    public static final class PrimLoop extends Phase {
+    }
+
+    @Name("mst.ResultAssembly")
+    @Label("Result Assembly")
+    @Description("Turning the tree edge ids into an AlgorithmResult: edge objects, ids and components")
+    public static final class ResultAssembly extends Phase {
+    }
+}
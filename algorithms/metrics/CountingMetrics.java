@@ -0,0 +1,46 @@
+package algorithms.metrics;
+
+import java.util.Locale;
+
+/** Per-category counters for a single engine run; not thread-safe. */
+public final class CountingMetrics implements MetricsSink {
+
+    /** False when counting is switched off with -Dmst.metrics=none. */
+    static final boolean ENABLED = !"none".equals(
+            System.getProperty("mst.metrics", "count").toLowerCase(Locale.ROOT));
+
+    private static final Op[] OPS = Op.values();
+
+    private final long[] counts = new long[OPS.length];
+
+    @Override
+    public void add(Op op, long n) {
+        counts[op.ordinal()] += n;
+    }
+
+    @Override
+    public long count(Op op) {
+        return counts[op.ordinal()];
+    }
+
+    @Override
+    public long total() {
+        long sum = 0;
+        for (long c : counts)
+            sum += c;
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (Op op : OPS) {
+            if (counts[op.ordinal()] != 0) {
+                if (sb.length() > 1)
+                    sb.append(", ");
+                sb.append(op.name().toLowerCase(Locale.ROOT)).append('=').append(counts[op.ordinal()]);
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,37 @@
+package algorithms.metrics;
+
+/**
+ * Receives operation counts from an engine run.
+ *
+ * Engines take one sink per run from create() and report through add/inc.
+ * NONE has empty bodies; when it is the only implementation in use the JIT
+ * inlines the calls away, so runs with -Dmst.metrics=none pay nothing for
+ * counting. Otherwise create() returns a CountingMetrics whose total becomes
+ * AlgorithmResult.operationCount.
+ */
+public interface MetricsSink {
+
+    MetricsSink NONE = NoMetrics.INSTANCE;
+
+    void add(Op op, long n);
+
+    default void inc(Op op) {
+        add(op, 1);
+    }
+
+    /** Count recorded for op, or 0 if this sink does not count. */
+    long count(Op op);
+
+    /** Sum over all categories. */
+    long total();
+
+    /** False when counting is switched off with -Dmst.metrics=none. */
+    static boolean counting() {
+        return CountingMetrics.ENABLED;
+    }
+
+    /** New counting sink, or NONE when -Dmst.metrics=none. */
+    static MetricsSink create() {
+        return CountingMetrics.ENABLED ? new CountingMetrics() : NONE;
+    }
+}
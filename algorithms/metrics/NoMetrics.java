@@ -0,0 +1,33 @@
+package algorithms.metrics;
+
+/** Sink that drops every count. */
+final class NoMetrics implements MetricsSink {
+
+    static final NoMetrics INSTANCE = new NoMetrics();
+
+    private NoMetrics() {
+    }
+
+    @Override
+    public void add(Op op, long n) {
+    }
+
+    @Override
+    public void inc(Op op) {
+    }
+
+    @Override
+    public long count(Op op) {
+        return 0;
+    }
+
+    @Override
+    public long total() {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "none";
+    }
+}
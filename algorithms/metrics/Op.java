@@ -0,0 +1,20 @@
+package algorithms.metrics;
+
+/**
+ * Operation categories counted by the MST engines. Every engine reports
+ * through the same categories, so operation totals can be compared.
+ */
+public enum Op {
+    /** Key comparison, including the work charged for sorting edges. */
+    COMPARE,
+    /** Union-find parent step (one per find call plus one per path step). */
+    FIND,
+    /** Union-find union call. */
+    UNION,
+    /** Priority-queue insert or decrease-key (a key update in dense Prim). */
+    HEAP_PUSH,
+    /** Priority-queue extract-min (a vertex selection in dense Prim). */
+    HEAP_POP,
+    /** Adjacency slot or edge-list entry visited. */
+    EDGE_SCAN
+}
@@ -0,0 +1,75 @@
+package algorithms.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Heap allocation and garbage collection over one engine run, taken as the
+ * difference of two current() samples.
+ *
+ * allocatedBytes counts the calling thread only
+ * (com.sun.management.ThreadMXBean), so work an engine hands to pool threads
+ * is not included. GC count and time are JVM-wide sums over all collectors:
+ * with several graphs in flight they include collections triggered by the
+ * other runs. A value of -1 means the JVM does not report it.
+ */
+public final class ResourceUsage {
+
+    /** For results that were not measured. */
+    public static final ResourceUsage NONE = new ResourceUsage(-1, -1, -1);
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+    private static final boolean ALLOCATION_SUPPORTED = allocationSupported();
+
+    public final long allocatedBytes;
+    public final long gcCount;
+    public final long gcTimeMs;
+
+    public ResourceUsage(long allocatedBytes, long gcCount, long gcTimeMs) {
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcTimeMs = gcTimeMs;
+    }
+
+    /** Counters so far: bytes allocated by this thread, collections and collection time. */
+    public static ResourceUsage current() {
+        long allocated = -1;
+        if (ALLOCATION_SUPPORTED) {
+            allocated = ((com.sun.management.ThreadMXBean) THREADS)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        long count = 0, time = 0;
+        for (GarbageCollectorMXBean gc : COLLECTORS) {
+            long c = gc.getCollectionCount(), t = gc.getCollectionTime();
+            // Collectors that cannot report return -1
+            count = c < 0 || count < 0 ? -1 : count + c;
+            time = t < 0 || time < 0 ? -1 : time + t;
+        }
+        return new ResourceUsage(allocated, count, time);
+    }
+
+    /** Usage between an earlier sample and this one. */
+    public ResourceUsage since(ResourceUsage start) {
+        return new ResourceUsage(delta(allocatedBytes, start.allocatedBytes),
+                delta(gcCount, start.gcCount), delta(gcTimeMs, start.gcTimeMs));
+    }
+
+    private static long delta(long end, long start) {
+        return end < 0 || start < 0 ? -1 : end - start;
+    }
+
+    private static boolean allocationSupported() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean))
+            return false;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("allocated=%d B, gc=%d (%d ms)", allocatedBytes, gcCount, gcTimeMs);
+    }
+}
@@ -1,24 +1,241 @@
 package algorithms.models;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
+
+import algorithms.metrics.MetricsSink;
+import algorithms.metrics.ResourceUsage;
 
 public class AlgorithmResult {
+    /**
+     * Tree edges. For results built from edge ids this is a read-only view
+     * over names and weights copied from the graph, which creates each Edge
+     * on first read; edgeFrom, edgeTo and edgeWeight read the same edges
+     * without creating objects.
+     */
     public final List<Edge> mstEdges;
+    /** Edge ids of mstEdges in the input graph, or null if the engine did not record them. */
+    public final int[] mstEdgeIds;
     public final double totalCost;
     public final long operationCount;
     public final double executionTimeMs;
+    public final String engine;
+    /** Per-category counts behind operationCount; MetricsSink.NONE if not recorded. */
+    public final MetricsSink metrics;
+    /**
+     * One entry per connected component of the input, in order of each
+     * component's smallest vertex id; null if the engine did not report them.
+     */
+    public final List<Component> components;
+    /** Allocation and GC over the run (see measured); ResourceUsage.NONE if not measured. */
+    public final ResourceUsage resources;
+
+    /** Spanning tree of one connected component. */
+    public static class Component {
+        public final int vertexCount;
+        public final int edgeCount;
+        public final double cost;
+
+        public Component(int vertexCount, int edgeCount, double cost) {
+            this.vertexCount = vertexCount;
+            this.edgeCount = edgeCount;
+            this.cost = cost;
+        }
+    }
 
     public AlgorithmResult(List<Edge> mstEdges, double totalCost,
             long operationCount, double executionTimeMs) {
+        this(mstEdges, totalCost, operationCount, executionTimeMs, null);
+    }
+
+    public AlgorithmResult(List<Edge> mstEdges, double totalCost,
+            long operationCount, double executionTimeMs, String engine) {
+        this(mstEdges, null, null, totalCost, operationCount, executionTimeMs, engine, MetricsSink.NONE,
+                ResourceUsage.NONE);
+    }
+
+    /**
+     * Result for the first treeSize edge ids in tree, all taken from graph.
+     * componentOf labels every vertex with its component, numbered from 0 in
+     * order of the components' smallest vertex ids.
+     */
+    public AlgorithmResult(Graph graph, int[] tree, int treeSize, int[] componentOf, double totalCost,
+            MetricsSink metrics, double executionTimeMs, String engine) {
+        this(new TreeEdges(graph.compact(), tree, treeSize), Arrays.copyOf(tree, treeSize), componentOf,
+                totalCost, metrics.total(), executionTimeMs, engine, metrics);
+    }
+
+    /** Like the MetricsSink form, for a result whose operations were counted elsewhere. */
+    public AlgorithmResult(Graph graph, int[] tree, int treeSize, int[] componentOf, double totalCost,
+            long operationCount, double executionTimeMs, String engine) {
+        this(new TreeEdges(graph.compact(), tree, treeSize), Arrays.copyOf(tree, treeSize), componentOf,
+                totalCost, operationCount, executionTimeMs, engine, MetricsSink.NONE);
+    }
+
+    private AlgorithmResult(TreeEdges tree, int[] ids, int[] componentOf, double totalCost, long operationCount,
+            double executionTimeMs, String engine, MetricsSink metrics) {
+        this(tree, ids, components(tree, componentOf), totalCost, operationCount, executionTimeMs, engine,
+                metrics, ResourceUsage.NONE);
+    }
+
+    private AlgorithmResult(List<Edge> mstEdges, int[] mstEdgeIds, List<Component> components,
+            double totalCost, long operationCount, double executionTimeMs, String engine,
+            MetricsSink metrics, ResourceUsage resources) {
         this.mstEdges = mstEdges;
+        this.mstEdgeIds = mstEdgeIds;
         this.totalCost = totalCost;
         this.operationCount = operationCount;
         this.executionTimeMs = executionTimeMs;
+        this.engine = engine;
+        this.metrics = metrics;
+        this.components = components;
+        this.resources = resources;
+    }
+
+    /**
+     * Wraps engine so every run samples ResourceUsage before and after and
+     * returns the result with the difference attached.
+     */
+    public static Function<Graph, AlgorithmResult> measured(Function<Graph, AlgorithmResult> engine) {
+        return graph -> {
+            ResourceUsage start = ResourceUsage.current();
+            AlgorithmResult result = engine.apply(graph);
+            return result.withResources(ResourceUsage.current().since(start));
+        };
+    }
+
+    /** Copy of this result with the given resource usage. */
+    public AlgorithmResult withResources(ResourceUsage resources) {
+        return new AlgorithmResult(mstEdges, mstEdgeIds, components, totalCost, operationCount,
+                executionTimeMs, engine, metrics, resources);
+    }
+
+    /** Name of the from vertex of the i-th tree edge. */
+    public String edgeFrom(int i) {
+        return mstEdges instanceof TreeEdges ? ((TreeEdges) mstEdges).from(i) : mstEdges.get(i).from;
+    }
+
+    /** Name of the to vertex of the i-th tree edge. */
+    public String edgeTo(int i) {
+        return mstEdges instanceof TreeEdges ? ((TreeEdges) mstEdges).to(i) : mstEdges.get(i).to;
+    }
+
+    public double edgeWeight(int i) {
+        return mstEdges instanceof TreeEdges ? ((TreeEdges) mstEdges).weight[i] : mstEdges.get(i).weight;
+    }
+
+    /** True when the input was connected, so the forest is a single spanning tree. */
+    public boolean isSpanningTree() {
+        if (components == null)
+            throw new IllegalStateException("Engine " + engine + " did not report components");
+        return components.size() <= 1;
+    }
+
+    private static List<Component> components(TreeEdges tree, int[] componentOf) {
+        int count = 0;
+        for (int c : componentOf)
+            count = Math.max(count, c + 1);
+        int[] vertices = new int[count];
+        int[] edges = new int[count];
+        double[] cost = new double[count];
+        for (int c : componentOf)
+            vertices[c]++;
+        for (int i = 0; i < tree.weight.length; i++) {
+            int c = componentOf[tree.from[i]];
+            edges[c]++;
+            cost[c] += tree.weight[i];
+        }
+        List<Component> list = new ArrayList<>(count);
+        for (int c = 0; c < count; c++)
+            list.add(new Component(vertices[c], edges[c], cost[c]));
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Tree edges copied out of the graph: from ids, endpoint names and
+     * weights. Nothing refers back to the graph, so a kept result does not
+     * pin its edge arrays, mapped file or off-heap segments. Each Edge is
+     * created on first read and reused after that.
+     */
+    private static final class TreeEdges extends AbstractList<Edge> {
+        /** Endpoint ids, kept for components(). */
+        private final int[] from;
+        private final String[] fromName;
+        private final String[] toName;
+        private final double[] weight;
+        private volatile Edge[] edges;
+
+        TreeEdges(CompactGraph graph, int[] tree, int treeSize) {
+            this(graph, endpoints(graph, tree, treeSize, true), endpoints(graph, tree, treeSize, false),
+                    weights(graph, tree, treeSize));
+        }
+
+        TreeEdges(CompactGraph graph, int[] from, int[] to, double[] weight) {
+            this.from = from;
+            this.weight = weight;
+            this.fromName = new String[from.length];
+            this.toName = new String[to.length];
+            // One String per tree vertex, however many tree edges it has
+            String[] byVertex = new String[graph.vertexCount()];
+            for (int i = 0; i < from.length; i++) {
+                fromName[i] = nameOf(graph, byVertex, from[i]);
+                toName[i] = nameOf(graph, byVertex, to[i]);
+            }
+        }
+
+        private static String nameOf(CompactGraph graph, String[] byVertex, int v) {
+            String name = byVertex[v];
+            if (name == null)
+                byVertex[v] = name = graph.name(v);
+            return name;
+        }
+
+        private static int[] endpoints(CompactGraph graph, int[] tree, int treeSize, boolean from) {
+            int[] ids = new int[treeSize];
+            for (int i = 0; i < treeSize; i++)
+                ids[i] = from ? graph.from(tree[i]) : graph.to(tree[i]);
+            return ids;
+        }
+
+        private static double[] weights(CompactGraph graph, int[] tree, int treeSize) {
+            double[] weight = new double[treeSize];
+            for (int i = 0; i < treeSize; i++)
+                weight[i] = graph.weight(tree[i]);
+            return weight;
+        }
+
+        String from(int i) {
+            return fromName[i];
+        }
+
+        String to(int i) {
+            return toName[i];
+        }
+
+        @Override
+        public Edge get(int i) {
+            Edge[] cache = edges;
+            if (cache == null)
+                edges = cache = new Edge[weight.length];
+            Edge e = cache[i];
+            if (e == null)
+                cache[i] = e = new Edge(fromName[i], toName[i], weight[i]);
+            return e;
+        }
+
+        @Override
+        public int size() {
+            return weight.length;
+        }
     }
 
     @Override
     public String toString() {
-        return String.format("MST[edges=%d, cost=%.2f, ops=%d, time=%.3fms]",
-                mstEdges.size(), totalCost, operationCount, executionTimeMs);
+        return String.format("MST[engine=%s, edges=%d, cost=%.2f, ops=%d, time=%.3fms]",
+                engine, mstEdges.size(), totalCost, operationCount, executionTimeMs);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package algorithms.models;
+
+import java.util.Map;
+
+/**
+ * CompactGraph whose edge arrays and CSR adjacency live on the Java heap.
+ */
+final class ArrayCompactGraph extends CompactGraph {
+    private final String[] names;
+    private final Map<String, Integer> ids;
+
+    private final int[] from;
+    private final int[] to;
+    private final double[] weight;
+
+    private final int[] offset;
+    private final int[] target;
+    private final int[] edgeIndex;
+
+    ArrayCompactGraph(String[] names, Map<String, Integer> ids,
+            int[] from, int[] to, double[] weight) {
+        this.names = names;
+        this.ids = ids;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+
+        CsrAdjacency csr = CsrAdjacency.build(this);
+        this.offset = csr.offset;
+        this.target = csr.target;
+        this.edgeIndex = csr.edgeIndex;
+    }
+
+    @Override
+    public int vertexCount() {
+        return names.length;
+    }
+
+    @Override
+    public int edgeCount() {
+        return from.length;
+    }
+
+    @Override
+    public String name(int v) {
+        return names[v];
+    }
+
+    @Override
+    public int id(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    @Override
+    public int from(int e) {
+        return from[e];
+    }
+
+    @Override
+    public int to(int e) {
+        return to[e];
+    }
+
+    @Override
+    public double weight(int e) {
+        return weight[e];
+    }
+
+    @Override
+    public int offset(int v) {
+        return offset[v];
+    }
+
+    @Override
+    public int target(int i) {
+        return target[i];
+    }
+
+    @Override
+    public int edgeAt(int i) {
+        return edgeIndex[i];
+    }
+}
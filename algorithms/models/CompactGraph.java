@@ -0,0 +1,237 @@
+package algorithms.models;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Integer-indexed graph storage used by the MST engines.
+ *
+ * Vertex names are interned once to ids 0..V-1, edges are addressed by id
+ * 0..E-1 through from/to/weight accessors, and adjacency is exposed in CSR
+ * form: the incident edges of vertex v occupy slots offset(v) ..
+ * offset(v + 1) - 1, and each slot holds a neighbour (target) and an edge id
+ * (edgeAt).
+ *
+ * Subclasses decide where the arrays live: on the Java heap
+ * (ArrayCompactGraph), in native memory (OffHeapCompactGraph, in the
+ * separately compiled incubator-src/ tree) or in a memory-mapped file
+ * (MappedGraphFile). Native storage is released by close(); for heap storage
+ * close() does nothing.
+ */
+public abstract class CompactGraph implements AutoCloseable {
+
+    /** Edge storage of a Builder; build() turns the first edgeCount edges into a graph. */
+    interface EdgeStore {
+        void add(int e, int u, int v, double w);
+
+        CompactGraph build(String[] names, Map<String, Integer> ids, int edgeCount);
+    }
+
+    /** Native edge stores, loaded from incubator-src/ (OffHeapEdgeStore). */
+    private static final Supplier<EdgeStore> OFF_HEAP = loadOffHeap();
+
+    protected CompactGraph() {
+    }
+
+    /**
+     * Builds the compact form of a node list and an edge list. Edge ids follow
+     * the order of the given list. Duplicate node names and edges to nodes
+     * that are not in the list are rejected with IllegalArgumentException.
+     */
+    public static CompactGraph of(List<String> nodes, List<Edge> edges) {
+        Map<String, Integer> ids = new HashMap<>(nodes.size() * 2);
+        String[] names = new String[nodes.size()];
+        for (int v = 0; v < names.length; v++) {
+            names[v] = nodes.get(v);
+            if (ids.putIfAbsent(names[v], v) != null)
+                throw duplicate(names[v]);
+        }
+
+        int m = edges.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] weight = new double[m];
+        int e = 0;
+        for (Edge edge : edges) {
+            from[e] = idOf(ids, edge.from);
+            to[e] = idOf(ids, edge.to);
+            weight[e] = edge.weight;
+            e++;
+        }
+        return new ArrayCompactGraph(names, ids, from, to, weight);
+    }
+
+    /**
+     * Incremental construction for loaders that stream vertices and edges
+     * without building Edge objects first. Vertices must be added before the
+     * edges that name them, with the same checks as of().
+     */
+    public static class Builder {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private final EdgeStore edges;
+        private int edgeCount;
+
+        /** Builder that keeps the edges in heap arrays. */
+        public Builder() {
+            this(new HeapEdges());
+        }
+
+        private Builder(EdgeStore edges) {
+            this.edges = edges;
+        }
+
+        /**
+         * Builder that writes edges straight into native memory, where build()
+         * also lays out the CSR adjacency. build() hands that memory to the
+         * graph, so it may be called once, and the caller must close() the
+         * graph. Needs the incubator-src/ classes and --add-modules
+         * jdk.incubator.foreign.
+         */
+        public static Builder offHeap() {
+            if (OFF_HEAP == null)
+                throw new UnsupportedOperationException("Off-heap storage needs --add-modules jdk.incubator.foreign");
+            return new Builder(OFF_HEAP.get());
+        }
+
+        /** Off-heap when -Dmst.offheap=true and off-heap storage is available, heap otherwise. */
+        public static Builder forDefaultStorage() {
+            return Boolean.getBoolean("mst.offheap") && offHeapAvailable() ? offHeap() : new Builder();
+        }
+
+        /** Adds a vertex and returns its id; a name already added is rejected. */
+        public int addVertex(String name) {
+            int id = names.size();
+            if (ids.putIfAbsent(name, id) != null)
+                throw duplicate(name);
+            names.add(name);
+            return id;
+        }
+
+        /** Appends an edge between two vertices added before. */
+        public int addEdge(String fromName, String toName, double w) {
+            return addEdge(idOf(ids, fromName), idOf(ids, toName), w);
+        }
+
+        /** Appends an edge between vertex ids; ids outside [0, vertexCount()) are rejected. */
+        public int addEdge(int u, int v, double w) {
+            checkVertex(u);
+            checkVertex(v);
+            edges.add(edgeCount, u, v, w);
+            return edgeCount++;
+        }
+
+        public int vertexCount() {
+            return names.size();
+        }
+
+        private void checkVertex(int id) {
+            if (id < 0 || id >= names.size())
+                throw new IllegalArgumentException("Edge references unknown vertex: " + id);
+        }
+
+        public int edgeCount() {
+            return edgeCount;
+        }
+
+        public CompactGraph build() {
+            return edges.build(names.toArray(new String[0]), ids, edgeCount);
+        }
+    }
+
+    /** Growable heap arrays; build() copies them, so a heap builder may build again. */
+    private static final class HeapEdges implements EdgeStore {
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private double[] weight = new double[16];
+
+        @Override
+        public void add(int e, int u, int v, double w) {
+            if (e == from.length) {
+                int capacity = from.length + (from.length >> 1);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+            from[e] = u;
+            to[e] = v;
+            weight[e] = w;
+        }
+
+        @Override
+        public CompactGraph build(String[] names, Map<String, Integer> ids, int edgeCount) {
+            return new ArrayCompactGraph(names, ids,
+                    Arrays.copyOf(from, edgeCount),
+                    Arrays.copyOf(to, edgeCount),
+                    Arrays.copyOf(weight, edgeCount));
+        }
+    }
+
+    /**
+     * True when off-heap storage can be used: the incubator-src/ classes are
+     * on the class path and the jdk.incubator.foreign module is resolved.
+     */
+    public static boolean offHeapAvailable() {
+        return OFF_HEAP != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<EdgeStore> loadOffHeap() {
+        if (!ModuleLayer.boot().findModule("jdk.incubator.foreign").isPresent())
+            return null;
+        try {
+            return (Supplier<EdgeStore>) Class.forName("algorithms.models.OffHeapEdgeStore$Factory")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // incubator-src/ was not compiled onto the class path
+            return null;
+        }
+    }
+
+    private static IllegalArgumentException duplicate(String name) {
+        return new IllegalArgumentException("Duplicate vertex: " + name);
+    }
+
+    private static int idOf(Map<String, Integer> ids, String name) {
+        Integer id = ids.get(name);
+        if (id == null)
+            throw new IllegalArgumentException("Edge references unknown vertex: " + name);
+        return id;
+    }
+
+    public abstract int vertexCount();
+
+    public abstract int edgeCount();
+
+    public abstract String name(int v);
+
+    /** Returns the id of the named vertex, or -1 if it is not in the graph. */
+    public abstract int id(String name);
+
+    public abstract int from(int e);
+
+    public abstract int to(int e);
+
+    public abstract double weight(int e);
+
+    /** First CSR slot of vertex v; slots of v end at offset(v + 1). */
+    public abstract int offset(int v);
+
+    /** Neighbour stored in CSR slot i. */
+    public abstract int target(int i);
+
+    /** Edge id stored in CSR slot i. */
+    public abstract int edgeAt(int i);
+
+    public int degree(int v) {
+        return offset(v + 1) - offset(v);
+    }
+
+    /**
+     * Releases native storage. Afterwards only vertexCount, edgeCount and
+     * name may be called, so results can still name their tree edges.
+     */
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,169 @@
+package algorithms.models;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Heap-resident CSR adjacency: incident edges of vertex v occupy slots
+ * offset[v] .. offset[v + 1] - 1 of target and edgeIndex, in edge id order.
+ *
+ * build(g) runs serially unless -Dmst.build.threads=n (default 1) asks for
+ * more than one thread and the graph has at least PARALLEL_MIN edges; the
+ * parallel build produces the same arrays.
+ */
+public final class CsrAdjacency {
+    public final int[] offset;
+    public final int[] target;
+    public final int[] edgeIndex;
+
+    /** Smaller graphs are built serially even when threads are configured. */
+    static final int PARALLEL_MIN = 1 << 16;
+
+    private CsrAdjacency(int[] offset, int[] target, int[] edgeIndex) {
+        this.offset = offset;
+        this.target = target;
+        this.edgeIndex = edgeIndex;
+    }
+
+    /** Builds CSR arrays from the edge endpoints of g, in parallel if configured. */
+    public static CsrAdjacency build(CompactGraph g) {
+        if (BuildPool.POOL != null && g.edgeCount() >= PARALLEL_MIN)
+            return build(g, BuildPool.POOL);
+        return buildSerial(g);
+    }
+
+    /** Serial build: one pass each for degrees, offsets and the scatter. */
+    public static CsrAdjacency buildSerial(CompactGraph g) {
+        int n = g.vertexCount();
+        int m = g.edgeCount();
+        int[] offset = new int[n + 1];
+        int[] target = new int[2 * m];
+        int[] edgeIndex = new int[2 * m];
+
+        // Count degrees, prefix-sum them into offsets, then scatter edges
+        for (int e = 0; e < m; e++) {
+            offset[g.from(e) + 1]++;
+            offset[g.to(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offset[v + 1] += offset[v];
+        }
+        int[] cursor = Arrays.copyOf(offset, n);
+        for (int e = 0; e < m; e++) {
+            int u = g.from(e), v = g.to(e);
+            target[cursor[u]] = v;
+            edgeIndex[cursor[u]++] = e;
+            target[cursor[v]] = u;
+            edgeIndex[cursor[v]++] = e;
+        }
+        return new CsrAdjacency(offset, target, edgeIndex);
+    }
+
+    /**
+     * Parallel build on pool. Each of the pool's threads owns a contiguous
+     * edge id range and counts the endpoints of its edges into a private
+     * degree histogram. A prefix sum across the parts turns, for every
+     * vertex, the earlier parts' counts into a starting slot, and each part
+     * then scatters its own edges from those slots. Threads never write the
+     * same slot, so no atomics are needed, and the edges of a vertex land in
+     * edge id order exactly like the serial build. The histograms take
+     * parts * V ints.
+     */
+    public static CsrAdjacency build(CompactGraph g, ForkJoinPool pool) {
+        int n = g.vertexCount();
+        int m = g.edgeCount();
+        int parts = Math.max(1, Math.min(pool.getParallelism(), m));
+        int[] offset = new int[n + 1];
+        int[] target = new int[2 * m];
+        int[] edgeIndex = new int[2 * m];
+
+        int[] edgeBounds = bounds(m, parts);
+        int[][] cursor = new int[parts][];
+        pool.invoke(new PartTask(0, parts, k -> {
+            int[] count = new int[n];
+            for (int e = edgeBounds[k]; e < edgeBounds[k + 1]; e++) {
+                count[g.from(e)]++;
+                count[g.to(e)]++;
+            }
+            cursor[k] = count;
+        }));
+
+        // Per vertex, earlier parts' counts become each part's start within
+        // the vertex; the totals are the degrees
+        int[] vertexBounds = bounds(n, parts);
+        pool.invoke(new PartTask(0, parts, k -> {
+            for (int v = vertexBounds[k]; v < vertexBounds[k + 1]; v++) {
+                int sum = 0;
+                for (int[] count : cursor) {
+                    int c = count[v];
+                    count[v] = sum;
+                    sum += c;
+                }
+                offset[v + 1] = sum;
+            }
+        }));
+        for (int v = 0; v < n; v++)
+            offset[v + 1] += offset[v];
+
+        pool.invoke(new PartTask(0, parts, k -> {
+            int[] next = cursor[k];
+            for (int e = edgeBounds[k]; e < edgeBounds[k + 1]; e++) {
+                int u = g.from(e), v = g.to(e);
+                int i = offset[u] + next[u]++;
+                target[i] = v;
+                edgeIndex[i] = e;
+                i = offset[v] + next[v]++;
+                target[i] = u;
+                edgeIndex[i] = e;
+            }
+        }));
+        return new CsrAdjacency(offset, target, edgeIndex);
+    }
+
+    /** Splits [0, size) into parts contiguous ranges; range k is [b[k], b[k + 1]). */
+    private static int[] bounds(int size, int parts) {
+        int[] b = new int[parts + 1];
+        for (int k = 0; k <= parts; k++)
+            b[k] = (int) ((long) size * k / parts);
+        return b;
+    }
+
+    /** Shared pool for -Dmst.build.threads, created on first use; null when the build is serial. */
+    private static final class BuildPool {
+        static final ForkJoinPool POOL;
+
+        static {
+            int threads = Integer.getInteger("mst.build.threads", 1);
+            POOL = threads > 1 ? new ForkJoinPool(threads) : null;
+        }
+    }
+
+    private interface PartBody {
+        void apply(int part);
+    }
+
+    /** Runs body for every part in [lo, hi), one forked task per part. */
+    private static class PartTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo, hi;
+        private final PartBody body;
+
+        PartTask(int lo, int hi, PartBody body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                body.apply(lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new PartTask(lo, mid, body), new PartTask(mid, hi, body));
+        }
+    }
+}
@@ -2,51 +2,157 @@ package algorithms.models;
 
 import java.util.*;
 
-public class Graph {
+import algorithms.jfr.MSTEvents;
+
+public class Graph implements AutoCloseable {
     public final int id;
     public final List<String> nodes;
     public final List<Edge> edges;
     public final Map<String, List<Edge>> adj;
 
+    private final CompactGraph compact;
+
     public Graph(int id, List<String> nodes, List<Edge> edges) {
         this.id = id;
         this.nodes = nodes;
         this.edges = edges;
-        this.adj = buildAdjacencyList(edges);
+        MSTEvents.AdjacencyBuild build = new MSTEvents.AdjacencyBuild();
+        build.begin();
+        this.compact = CompactGraph.of(nodes, edges);
+        build.finish(id, compact.vertexCount(), compact.edgeCount(), null);
+        this.adj = new AdjacencyView();
+    }
+
+    /**
+     * Wraps already-compact storage. nodes and edges are read-only views that
+     * create Edge objects on access, so no per-edge objects are kept.
+     */
+    public Graph(int id, CompactGraph compact) {
+        this.id = id;
+        this.compact = compact;
+        this.nodes = new AbstractList<>() {
+            @Override
+            public String get(int v) {
+                Objects.checkIndex(v, compact.vertexCount());
+                return compact.name(v);
+            }
+
+            @Override
+            public int size() {
+                return compact.vertexCount();
+            }
+        };
+        this.edges = new AbstractList<>() {
+            @Override
+            public Edge get(int e) {
+                Objects.checkIndex(e, compact.edgeCount());
+                return new Edge(compact.name(compact.from(e)), compact.name(compact.to(e)), compact.weight(e));
+            }
+
+            @Override
+            public int size() {
+                return compact.edgeCount();
+            }
+        };
+        this.adj = new AdjacencyView();
+    }
+
+    /** Integer-indexed storage that the MST engines run on. */
+    public CompactGraph compact() {
+        return compact;
+    }
+
+    /**
+     * Releases the storage of an off-heap graph. Results already computed
+     * keep their tree edges; the graph itself must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        compact.close();
+    }
+
+    /** Edge object for edge id e, as passed to the constructor. */
+    public Edge edge(int e) {
+        return edges.get(e);
     }
 
-    private Map<String, List<Edge>> buildAdjacencyList(List<Edge> edges) {
-        Map<String, List<Edge>> adjList = new HashMap<>();
-        for (String node : nodes) {
-            adjList.put(node, new ArrayList<>());
+    /**
+     * Edge density E / (V(V-1)/2), as reported in the comparison CSV. Returns 0
+     * for graphs with fewer than two vertices.
+     */
+    public double density() {
+        double v = compact.vertexCount();
+        double maxEdges = v * (v - 1) / 2.0;
+        return maxEdges > 0 ? compact.edgeCount() / maxEdges : 0;
+    }
+
+    /**
+     * Read-only String-keyed view of the CSR adjacency, kept for callers that
+     * still walk the graph by vertex name.
+     */
+    private class AdjacencyView extends AbstractMap<String, List<Edge>> {
+
+        @Override
+        public List<Edge> get(Object key) {
+            int v = key instanceof String ? compact.id((String) key) : -1;
+            return v < 0 ? null : incident(v);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && compact.id((String) key) >= 0;
         }
-        for (Edge e : edges) {
-            adjList.get(e.from).add(e);
-            adjList.get(e.to).add(e);
+
+        @Override
+        public int size() {
+            return compact.vertexCount();
         }
-        return adjList;
-    }
 
-    public boolean isConnected() {
-        if (nodes.isEmpty())
-            return true;
-
-        Set<String> visited = new HashSet<>();
-        Queue<String> queue = new LinkedList<>();
-        queue.add(nodes.get(0));
-        visited.add(nodes.get(0));
-
-        while (!queue.isEmpty()) {
-            String current = queue.poll();
-            for (Edge e : adj.get(current)) {
-                String neighbor = e.from.equals(current) ? e.to : e.from;
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    queue.add(neighbor);
+        @Override
+        public Set<Entry<String, List<Edge>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, List<Edge>>> iterator() {
+                    return new Iterator<>() {
+                        private int v = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return v < compact.vertexCount();
+                        }
+
+                        @Override
+                        public Entry<String, List<Edge>> next() {
+                            if (!hasNext())
+                                throw new NoSuchElementException();
+                            int current = v++;
+                            return new SimpleImmutableEntry<>(compact.name(current), incident(current));
+                        }
+                    };
                 }
-            }
+
+                @Override
+                public int size() {
+                    return compact.vertexCount();
+                }
+            };
         }
 
-        return visited.size() == nodes.size();
+        private List<Edge> incident(int v) {
+            int start = compact.offset(v);
+            int size = compact.degree(v);
+            return new AbstractList<>() {
+                @Override
+                public Edge get(int i) {
+                    Objects.checkIndex(i, size);
+                    return edges.get(compact.edgeAt(start + i));
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,38 @@
+package bench;
+
+import java.util.SplittableRandom;
+
+import algorithms.models.CompactGraph;
+import algorithms.models.Graph;
+import generator.WeightDistribution;
+
+/**
+ * Seeded random graphs for the benchmarks: a random spanning tree (so the
+ * graph is connected) plus every other vertex pair with probability chosen
+ * to hit the requested density.
+ */
+public final class BenchGraphs {
+
+    private BenchGraphs() {
+    }
+
+    public static Graph random(int vertices, double density, WeightDistribution weights, long seed) {
+        SplittableRandom rand = new SplittableRandom(seed);
+        CompactGraph.Builder builder = new CompactGraph.Builder();
+        for (int v = 0; v < vertices; v++)
+            builder.addVertex("V" + v);
+
+        for (int v = 1; v < vertices; v++)
+            builder.addEdge(rand.nextInt(v), v, weights.next(rand));
+
+        double pairs = vertices * (vertices - 1) / 2.0;
+        double p = pairs > vertices - 1 ? Math.max(0, density * pairs - (vertices - 1)) / (pairs - (vertices - 1)) : 0;
+        for (int u = 0; u < vertices; u++) {
+            for (int v = u + 1; v < vertices; v++) {
+                if (rand.nextDouble() < p)
+                    builder.addEdge(u, v, weights.next(rand));
+            }
+        }
+        return new Graph(0, builder.build());
+    }
+}
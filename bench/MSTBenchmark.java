@@ -0,0 +1,50 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import algorithms.MSTEngine;
+import algorithms.models.Graph;
+import generator.WeightDistribution;
+
+/**
+ * JMH benchmark of the MST engines. Graph construction happens once per
+ * trial in setup(); only engine.run(graph) is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = { "--add-modules=jdk.incubator.vector", "-Xmx4g" })
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MSTBenchmark {
+
+    @Param({ "100", "1000", "3000" })
+    public int vertices;
+
+    @Param({ "0.1", "0.3", "0.6" })
+    public double density;
+
+    @Param({ "UNIFORM_INT", "UNIFORM_REAL", "HEAVY_TIES" })
+    public WeightDistribution weights;
+
+    @Param({ "PRIM", "PRIM_4ARY", "PRIM_DENSE", "KRUSKAL", "KRUSKAL_PARALLEL", "FILTER_KRUSKAL", "BORUVKA" })
+    public MSTEngine engine;
+
+    @Param({ "42" })
+    public long seed;
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = BenchGraphs.random(vertices, density, weights, seed);
+    }
+
+    @Benchmark
+    public void mst(Blackhole bh) {
+        bh.consume(engine.run(graph));
+    }
+}
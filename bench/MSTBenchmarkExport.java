@@ -0,0 +1,98 @@
+package bench;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.*;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import algorithms.MSTEngine;
+import algorithms.models.AlgorithmResult;
+import algorithms.models.Graph;
+import generator.WeightDistribution;
+
+/**
+ * Runs MSTBenchmark for two engines and writes the scores in the column
+ * layout of mst_comparison_results.csv, so the existing CSVAnalyzer can read
+ * them. Time columns hold the JMH average (ms/op); cost, edge and operation
+ * columns come from one extra run of each engine on the same seeded graph.
+ *
+ * Usage: MSTBenchmarkExport [prim=PRIM] [kruskal=KRUSKAL] [out=mst_benchmark_results.csv]
+ *        [vertices=100,1000,3000] [density=0.1,0.3,0.6] [weights=UNIFORM_INT]
+ */
+public class MSTBenchmarkExport {
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0)
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            opts.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        MSTEngine primEngine = MSTEngine.valueOf(opts.getOrDefault("prim", "PRIM"));
+        MSTEngine kruskalEngine = MSTEngine.valueOf(opts.getOrDefault("kruskal", "KRUSKAL"));
+        String out = opts.getOrDefault("out", "mst_benchmark_results.csv");
+
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(MSTBenchmark.class.getSimpleName())
+                .param("engine", primEngine.name(), kruskalEngine.name())
+                .param("weights", opts.getOrDefault("weights", "UNIFORM_INT").split(","));
+        if (opts.containsKey("vertices"))
+            builder.param("vertices", opts.get("vertices").split(","));
+        if (opts.containsKey("density"))
+            builder.param("density", opts.get("density").split(","));
+
+        Collection<RunResult> results = new Runner(builder.build()).run();
+
+        // (vertices, density, weights, seed) -> engine -> ms/op
+        Map<List<String>, Map<String, Double>> scores = new TreeMap<>(
+                Comparator.comparing((List<String> k) -> Integer.parseInt(k.get(0)))
+                        .thenComparing(k -> Double.parseDouble(k.get(1)))
+                        .thenComparing(k -> k.get(2)));
+        for (RunResult r : results) {
+            List<String> key = Arrays.asList(
+                    r.getParams().getParam("vertices"),
+                    r.getParams().getParam("density"),
+                    r.getParams().getParam("weights"),
+                    r.getParams().getParam("seed"));
+            scores.computeIfAbsent(key, k -> new HashMap<>())
+                    .put(r.getParams().getParam("engine"), r.getPrimaryResult().getScore());
+        }
+
+        try (FileWriter csv = new FileWriter(out)) {
+            csv.append("Graph_ID,Vertices,Edges,Density,");
+            csv.append("Prim_Cost,Prim_Edges,Prim_Operations,Prim_Time_ms,");
+            csv.append("Kruskal_Cost,Kruskal_Edges,Kruskal_Operations,Kruskal_Time_ms,");
+            csv.append("Cost_Match,Time_Difference_ms,Operation_Difference,Kruskal_Faster\n");
+
+            int id = 1;
+            for (Map.Entry<List<String>, Map<String, Double>> entry : scores.entrySet()) {
+                List<String> key = entry.getKey();
+                Graph g = BenchGraphs.random(Integer.parseInt(key.get(0)), Double.parseDouble(key.get(1)),
+                        WeightDistribution.valueOf(key.get(2)), Long.parseLong(key.get(3)));
+                AlgorithmResult prim = primEngine.run(g);
+                AlgorithmResult kruskal = kruskalEngine.run(g);
+                double primTime = entry.getValue().getOrDefault(primEngine.name(), Double.NaN);
+                double kruskalTime = entry.getValue().getOrDefault(kruskalEngine.name(), Double.NaN);
+
+                csv.append(String.format("%d,%d,%d,%.2f,", id++, g.compact().vertexCount(),
+                        g.compact().edgeCount(), g.density()));
+                csv.append(String.format("%.2f,%d,%d,%.3f,",
+                        prim.totalCost, prim.mstEdges.size(), prim.operationCount, primTime));
+                csv.append(String.format("%.2f,%d,%d,%.3f,",
+                        kruskal.totalCost, kruskal.mstEdges.size(), kruskal.operationCount, kruskalTime));
+                csv.append(String.format("%s,%.3f,%d,%s\n",
+                        Math.abs(prim.totalCost - kruskal.totalCost) < 0.01,
+                        primTime - kruskalTime,
+                        prim.operationCount - kruskal.operationCount,
+                        kruskalTime < primTime));
+            }
+        }
+        System.out.println("✅ Benchmark results written to " + out);
+    }
+}
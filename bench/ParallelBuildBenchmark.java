@@ -0,0 +1,72 @@
+package bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import algorithms.Connectivity;
+import algorithms.models.CompactGraph;
+import algorithms.models.CsrAdjacency;
+import generator.WeightDistribution;
+
+/**
+ * JMH benchmark of CSR construction and the connectivity check by thread
+ * count. threads = 1 runs the serial code (CsrAdjacency.buildSerial and the
+ * plain BFS); larger values use a ForkJoinPool of that size. Graphs are a
+ * random spanning tree plus random extra edges up to the average degree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = { "-Xmx4g" })
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParallelBuildBenchmark {
+
+    @Param({ "100000", "1000000" })
+    public int vertices;
+
+    @Param({ "8", "32" })
+    public int averageDegree;
+
+    @Param({ "1", "2", "4" })
+    public int threads;
+
+    @Param({ "42" })
+    public long seed;
+
+    private CompactGraph graph;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom rand = new SplittableRandom(seed);
+        CompactGraph.Builder builder = new CompactGraph.Builder();
+        for (int v = 0; v < vertices; v++)
+            builder.addVertex("V" + v);
+        for (int v = 1; v < vertices; v++)
+            builder.addEdge(rand.nextInt(v), v, WeightDistribution.UNIFORM_INT.next(rand));
+        long edges = (long) vertices * averageDegree / 2;
+        for (long e = vertices - 1; e < edges; e++)
+            builder.addEdge(rand.nextInt(vertices), rand.nextInt(vertices), WeightDistribution.UNIFORM_INT.next(rand));
+        graph = builder.build();
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public CsrAdjacency buildCsr() {
+        return threads == 1 ? CsrAdjacency.buildSerial(graph) : CsrAdjacency.build(graph, pool);
+    }
+
+    @Benchmark
+    public boolean isConnected() {
+        return Connectivity.isConnected(graph, pool);
+    }
+}
@@ -0,0 +1,66 @@
+package generator;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import algorithms.BoruvkaMST;
+import algorithms.KruskalMST;
+import algorithms.models.AlgorithmResult;
+import algorithms.models.Graph;
+
+/**
+ * Thread-scaling run for BoruvkaMST: times the same graph on pools of
+ * 1, 2, 4, ... threads up to the number of cores. The graph is a connected
+ * Erdos-Renyi graph from SyntheticGraphs with density * V(V-1)/2 edges.
+ *
+ * Usage: BoruvkaScaling [vertices=3000] [density=0.2] [maxThreads=cores] [runs=5]
+ */
+public class BoruvkaScaling {
+
+    public static void main(String[] args) throws IOException {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        double density = args.length > 1 ? Double.parseDouble(args[1]) : 0.2;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        int runs = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        long edges = Math.round(density * vertices * (vertices - 1) / 2.0);
+        Graph graph = new SyntheticGraphs(new GraphSpec(0, GraphFamily.ERDOS_RENYI, vertices, edges,
+                WeightDistribution.UNIFORM_INT, 42, true)).toGraph();
+        double expected = KruskalMST.run(graph).totalCost;
+        System.out.printf("Graph: V=%d, E=%d, cores=%d%n",
+                vertices, graph.edges.size(), Runtime.getRuntime().availableProcessors());
+        System.out.println("Threads,Median_ms,Speedup,Cost_Match");
+
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int t = 1; t < maxThreads; t *= 2)
+            threadCounts.add(t);
+        threadCounts.add(maxThreads);
+
+        double baseline = 0;
+        for (int threads : threadCounts) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                // Warm-up run so JIT compilation is not timed
+                BoruvkaMST.run(graph, pool);
+
+                double[] times = new double[runs];
+                AlgorithmResult result = null;
+                for (int r = 0; r < runs; r++) {
+                    result = BoruvkaMST.run(graph, pool);
+                    times[r] = result.executionTimeMs;
+                }
+                Arrays.sort(times);
+                double median = times[runs / 2];
+                if (threads == 1)
+                    baseline = median;
+
+                boolean costMatch = Math.abs(result.totalCost - expected) < 0.01;
+                System.out.printf("%d,%.3f,%.2f,%s%n", threads, median, baseline / median, costMatch);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
@@ -1,33 +1,32 @@
 package generator;
 
 import java.io.FileWriter;
-import java.util.ArrayList;
-
-import java.util.List;
-
-import com.google.gson.*;
 
 import algorithms.KruskalMST;
 import algorithms.PrimMST;
+import algorithms.batch.BatchRunner;
+import algorithms.cache.ResultCache;
+import algorithms.io.GraphSource;
 import algorithms.models.AlgorithmResult;
-import algorithms.models.Edge;
 import algorithms.models.Graph;
 
 import java.io.*;
 
 public class CSVResultsGenerator {
+    /** Input dataset; override with -Dmst.input=path (.json or .mstg). */
+    private static final String INPUT = System.getProperty("mst.input", "datasets/assign_3_input.json");
+
 
     public static void main(String[] args) throws IOException {
         generateComparisonCSV();
     }
 
     public static void generateComparisonCSV() throws IOException {
-        Gson gson = new Gson();
+        // Off unless -Dmst.cache=true: a hit would report the time of an earlier run
+        ResultCache cache = ResultCache.fromSystemProperties(false);
 
-        // Read input JSON
-        Reader reader = new FileReader("datasets/assign_3_input.json");
-        JsonObject jsonObj = gson.fromJson(reader, JsonObject.class);
-        JsonArray graphsArray = jsonObj.getAsJsonArray("graphs");
+        // Stream input one graph at a time (JSON, or a mapped .mstg container)
+        GraphSource graphs = GraphSource.open(INPUT);
 
         // Prepare CSV output
         FileWriter csvWriter = new FileWriter("mst_comparison_results.csv");
@@ -36,49 +35,47 @@ public class CSVResultsGenerator {
         csvWriter.append("Graph_ID,Vertices,Edges,Density,");
         csvWriter.append("Prim_Cost,Prim_Edges,Prim_Operations,Prim_Time_ms,");
         csvWriter.append("Kruskal_Cost,Kruskal_Edges,Kruskal_Operations,Kruskal_Time_ms,");
-        csvWriter.append("Cost_Match,Time_Difference_ms,Operation_Difference,Kruskal_Faster\n");
-
-        // Process each graph
-        for (JsonElement el : graphsArray) {
-            JsonObject obj = el.getAsJsonObject();
-            int id = obj.get("id").getAsInt();
-
-            // Parse nodes
-            List<String> nodes = new ArrayList<>();
-            JsonArray nodesArray = obj.getAsJsonArray("nodes");
-            for (JsonElement n : nodesArray) {
-                nodes.add(n.getAsString());
+        csvWriter.append("Cost_Match,Time_Difference_ms,Operation_Difference,Kruskal_Faster,");
+        csvWriter.append("Prim_Allocated_Bytes,Prim_GC_Count,Prim_GC_Time_ms,");
+        csvWriter.append("Kruskal_Allocated_Bytes,Kruskal_GC_Count,Kruskal_GC_Time_ms\n");
+
+        // Process each graph; rows arrive in input order whatever the batch mode
+        BatchRunner.run(graphs, g -> comparisonRow(g, cache), row -> {
+            try {
+                csvWriter.append(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+        }, BatchRunner.Options.fromSystemProperties());
 
-            // Parse edges
-            List<Edge> edges = new ArrayList<>();
-            JsonArray edgesJson = obj.getAsJsonArray("edges");
-            for (JsonElement e : edgesJson) {
-                JsonObject eo = e.getAsJsonObject();
-                edges.add(new Edge(
-                        eo.get("from").getAsString(),
-                        eo.get("to").getAsString(),
-                        eo.get("weight").getAsDouble()));
-            }
+        csvWriter.close();
+        graphs.close();
 
-            Graph g = new Graph(id, nodes, edges);
+        System.out.println("✅ CSV comparison file generated: mst_comparison_results.csv");
+        System.out.println(cache);
+    }
+
+    private static String comparisonRow(Graph g, ResultCache cache) {
+        try (g) {
+            StringBuilder row = new StringBuilder();
+            int id = g.id;
 
             // Calculate density
-            int V = nodes.size();
-            int E = edges.size();
-            double maxEdges = (V * (V - 1)) / 2.0;
-            double density = maxEdges > 0 ? E / maxEdges : 0;
+            int V = g.compact().vertexCount();
+            int E = g.compact().edgeCount();
+            double density = g.density();
 
-            // Run algorithms
-            AlgorithmResult prim = PrimMST.run(g);
-            AlgorithmResult kruskal = KruskalMST.run(g);
+            // Run algorithms (or reuse results cached for identical content)
+            ResultCache.GraphKey key = cache.key(g);
+            AlgorithmResult prim = cache.get(key, PrimMST.engineFor(g), AlgorithmResult.measured(PrimMST::run));
+            AlgorithmResult kruskal = cache.get(key, "kruskal", AlgorithmResult.measured(KruskalMST::run));
 
             // Write row
-            csvWriter.append(String.format("%d,%d,%d,%.2f,", id, V, E, density));
-            csvWriter.append(String.format("%.2f,%d,%d,%.3f,",
+            row.append(String.format("%d,%d,%d,%.2f,", id, V, E, density));
+            row.append(String.format("%.2f,%d,%d,%.3f,",
                     prim.totalCost, prim.mstEdges.size(),
                     prim.operationCount, prim.executionTimeMs));
-            csvWriter.append(String.format("%.2f,%d,%d,%.3f,",
+            row.append(String.format("%.2f,%d,%d,%.3f,",
                     kruskal.totalCost, kruskal.mstEdges.size(),
                     kruskal.operationCount, kruskal.executionTimeMs));
 
@@ -87,13 +84,14 @@ public class CSVResultsGenerator {
             long opDiff = prim.operationCount - kruskal.operationCount;
             boolean kruskalFaster = kruskal.executionTimeMs < prim.executionTimeMs;
 
-            csvWriter.append(String.format("%s,%.3f,%d,%s\n",
+            row.append(String.format("%s,%.3f,%d,%s,",
                     costMatch, timeDiff, opDiff, kruskalFaster));
-        }
-
-        csvWriter.close();
-        reader.close();
 
-        System.out.println("✅ CSV comparison file generated: mst_comparison_results.csv");
+            // Allocation and GC deltas of each run (-1 where the JVM cannot report them)
+            row.append(String.format("%d,%d,%d,%d,%d,%d\n",
+                    prim.resources.allocatedBytes, prim.resources.gcCount, prim.resources.gcTimeMs,
+                    kruskal.resources.allocatedBytes, kruskal.resources.gcCount, kruskal.resources.gcTimeMs));
+            return row.toString();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,175 @@
+package generator;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import com.google.gson.stream.JsonWriter;
+
+import algorithms.io.BinaryGraphWriter;
+import algorithms.io.MappedGraphFile;
+
+/**
+ * Writes a synthetic dataset for App and CSVResultsGenerator, either in the
+ * JSON input schema or, for a .mstg output path, as a binary container.
+ *
+ * Graphs are generated in parallel, one per task, each streaming into its
+ * own temporary file next to the output; the files are then appended in
+ * spec order. No graph's edge list is held in memory (see SyntheticGraphs).
+ *
+ * Usage: DatasetGenerator output.json|output.mstg spec [spec ...]
+ * where each spec is a GraphSpec string, for example
+ * {@code id=1,family=erdos_renyi,vertices=1000000,edges=10000000,weights=heavy_ties,connected=true}.
+ * Pool size: -Dmst.generator.threads=n (default cores).
+ */
+public class DatasetGenerator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: DatasetGenerator output.json|output.mstg spec [spec ...]");
+            System.exit(1);
+        }
+        List<GraphSpec> specs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++)
+            specs.add(GraphSpec.parse(args[i]));
+
+        long start = System.nanoTime();
+        int threads = Integer.getInteger("mst.generator.threads", Runtime.getRuntime().availableProcessors());
+        generate(Path.of(args[0]), specs, threads);
+        System.out.printf("✅ Generated %d graphs to %s in %.1f ms%n",
+                specs.size(), args[0], (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    /** Writes every spec to output, generating up to threads graphs at once. */
+    public static void generate(Path output, List<GraphSpec> specs, int threads) throws IOException {
+        boolean binary = output.toString().endsWith(MappedGraphFile.EXTENSION);
+        Path dir = output.toAbsolutePath().getParent();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        List<Future<Path>> parts = new ArrayList<>();
+        try {
+            for (GraphSpec spec : specs)
+                parts.add(pool.submit(() -> binary ? writeBinary(spec, dir) : writeJson(spec, dir)));
+
+            if (binary) {
+                try (BinaryGraphWriter writer = new BinaryGraphWriter(output)) {
+                    for (Future<Path> part : parts) {
+                        Path file = await(part);
+                        writer.copyGraphs(file);
+                        Files.delete(file);
+                    }
+                }
+            } else {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output), 1 << 16)) {
+                    out.write("{\"graphs\":[".getBytes(StandardCharsets.UTF_8));
+                    for (int i = 0; i < parts.size(); i++) {
+                        Path file = await(parts.get(i));
+                        if (i > 0)
+                            out.write(',');
+                        Files.copy(file, out);
+                        Files.delete(file);
+                    }
+                    out.write("]}".getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        } finally {
+            // Queued tasks never start; running ones stop on the interrupt or
+            // finish, and are waited for so their parts can be deleted
+            pool.shutdownNow();
+            awaitTermination(pool);
+            for (Future<Path> part : parts) {
+                if (!part.isDone() || part.isCancelled())
+                    continue;
+                try {
+                    Files.deleteIfExists(part.get());
+                } catch (InterruptedException | ExecutionException e) {
+                    // A failed task deleted its own part; await reports the failure
+                }
+            }
+        }
+    }
+
+    private static void awaitTermination(ExecutorService pool) {
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                // Keep waiting: a running task still owns a part file
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Path await(Future<Path> part) throws IOException {
+        try {
+            return part.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while generating graphs");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IllegalStateException("Graph generation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Writes one graph to a temporary container. The writer deletes the file
+     * itself when a write fails; the catch covers a writer that could not be
+     * opened.
+     */
+    private static Path writeBinary(GraphSpec spec, Path dir) throws IOException {
+        Path file = Files.createTempFile(dir, "graph-" + spec.id + "-", MappedGraphFile.EXTENSION);
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(file)) {
+            writer.write(spec.id, spec.vertices, SyntheticGraphs::name, new SyntheticGraphs(spec));
+        } catch (IOException | RuntimeException | Error e) {
+            discard(file, e);
+            throw e;
+        }
+        return file;
+    }
+
+    /** Writes one graph object of the input schema to a temporary file, deleted if writing fails. */
+    private static Path writeJson(GraphSpec spec, Path dir) throws IOException {
+        Path file = Files.createTempFile(dir, "graph-" + spec.id + "-", ".json");
+        try (JsonWriter json = new JsonWriter(new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(file), StandardCharsets.UTF_8), 1 << 16))) {
+            json.beginObject();
+            json.name("id").value(spec.id);
+            json.name("nodes").beginArray();
+            for (int v = 0; v < spec.vertices; v++)
+                json.value(SyntheticGraphs.name(v));
+            json.endArray();
+            json.name("edges").beginArray();
+            new SyntheticGraphs(spec).forEach((u, v, w) -> {
+                json.beginObject()
+                        .name("from").value(SyntheticGraphs.name(u))
+                        .name("to").value(SyntheticGraphs.name(v))
+                        .name("weight");
+                // Integer weights as in the assignment dataset
+                if (w == Math.rint(w) && Math.abs(w) < 1e15)
+                    json.value((long) w);
+                else
+                    json.value(w);
+                json.endObject();
+            });
+            json.endArray();
+            json.endObject();
+        } catch (IOException | RuntimeException | Error e) {
+            discard(file, e);
+            throw e;
+        }
+        return file;
+    }
+
+    /** Deletes a part that could not be finished, keeping the original failure. */
+    private static void discard(Path file, Throwable failure) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+}
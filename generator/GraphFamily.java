@@ -0,0 +1,19 @@
+package generator;
+
+/**
+ * Random graph models produced by SyntheticGraphs. Edge counts are targets:
+ * exact for POWER_LAW, expected values for the sampled families, and ignored
+ * by COMPLETE.
+ */
+public enum GraphFamily {
+    /** G(n, p) with p chosen so the expected edge count is the target; no parallel edges. */
+    ERDOS_RENYI,
+    /** Random points in the unit square joined when closer than the radius that gives the target degree. */
+    GEOMETRIC,
+    /** Road-like square lattice with 4-neighbour edges, each kept with the probability that hits the target. */
+    GRID,
+    /** Chung-Lu graph whose expected degrees follow a power law with exponent 2.5; parallel edges possible. */
+    POWER_LAW,
+    /** Every vertex pair once. */
+    COMPLETE
+}
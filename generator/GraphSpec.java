@@ -0,0 +1,88 @@
+package generator;
+
+import java.util.Locale;
+
+/**
+ * One synthetic graph to generate: family, size, weights and seed.
+ *
+ * Parsed from comma-separated key=value pairs, for example
+ * {@code id=3,family=geometric,vertices=1000000,edges=8000000,weights=heavy_ties,seed=7,connected=true}.
+ * Only family and vertices are required; edges defaults to 4 * vertices,
+ * weights to UNIFORM_INT, seed to the id and connected to false.
+ */
+public final class GraphSpec {
+    public final int id;
+    public final GraphFamily family;
+    public final int vertices;
+    public final long edges;
+    public final WeightDistribution weights;
+    public final long seed;
+    /** Add the fewest bridging edges that make the graph connected. */
+    public final boolean connected;
+
+    public GraphSpec(int id, GraphFamily family, int vertices, long edges,
+            WeightDistribution weights, long seed, boolean connected) {
+        if (vertices < 0 || edges < 0)
+            throw new IllegalArgumentException("Negative size in spec " + id);
+        this.id = id;
+        this.family = family;
+        this.vertices = vertices;
+        this.edges = edges;
+        this.weights = weights;
+        this.seed = seed;
+        this.connected = connected;
+    }
+
+    public static GraphSpec parse(String text) {
+        int id = 1;
+        GraphFamily family = null;
+        int vertices = -1;
+        long edges = -1;
+        WeightDistribution weights = WeightDistribution.UNIFORM_INT;
+        Long seed = null;
+        boolean connected = false;
+
+        for (String pair : text.split(",")) {
+            int eq = pair.indexOf('=');
+            if (eq < 0)
+                throw new IllegalArgumentException("Expected key=value in graph spec: " + pair);
+            String key = pair.substring(0, eq).trim();
+            String value = pair.substring(eq + 1).trim();
+            switch (key) {
+                case "id":
+                    id = Integer.parseInt(value);
+                    break;
+                case "family":
+                    family = GraphFamily.valueOf(value.toUpperCase(Locale.ROOT));
+                    break;
+                case "vertices":
+                    vertices = Integer.parseInt(value);
+                    break;
+                case "edges":
+                    edges = Long.parseLong(value);
+                    break;
+                case "weights":
+                    weights = WeightDistribution.valueOf(value.toUpperCase(Locale.ROOT));
+                    break;
+                case "seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "connected":
+                    connected = Boolean.parseBoolean(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown graph spec key: " + key);
+            }
+        }
+        if (family == null || vertices < 0)
+            throw new IllegalArgumentException("Graph spec needs family and vertices: " + text);
+        return new GraphSpec(id, family, vertices, edges < 0 ? 4L * vertices : edges,
+                weights, seed == null ? id : seed, connected);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("id=%d,family=%s,vertices=%d,edges=%d,weights=%s,seed=%d,connected=%s",
+                id, family, vertices, edges, weights, seed, connected);
+    }
+}
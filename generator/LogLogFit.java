@@ -0,0 +1,58 @@
+package generator;
+
+/**
+ * Least-squares line through (log x, log y): fits y = constant * x^slope.
+ *
+ * For a complexity model x = f(V, E) and measured times y, a slope near 1
+ * with a high r2 means the model describes the growth; unitConstant is the
+ * constant of the model with the slope pinned to 1 (geometric mean of y / x),
+ * which is the number to compare across engines and releases.
+ */
+public final class LogLogFit {
+    public final double slope;
+    public final double constant;
+    public final double r2;
+    public final double unitConstant;
+    public final int points;
+
+    private LogLogFit(double slope, double constant, double r2, double unitConstant, int points) {
+        this.slope = slope;
+        this.constant = constant;
+        this.r2 = r2;
+        this.unitConstant = unitConstant;
+        this.points = points;
+    }
+
+    /** Fits the pairs with x > 0 and y > 0; the rest cannot be logged and are skipped. */
+    public static LogLogFit fit(double[] x, double[] y) {
+        int n = 0;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0, syy = 0;
+        for (int i = 0; i < x.length; i++) {
+            if (!(x[i] > 0 && y[i] > 0))
+                continue;
+            double lx = Math.log(x[i]), ly = Math.log(y[i]);
+            n++;
+            sx += lx;
+            sy += ly;
+            sxx += lx * lx;
+            sxy += lx * ly;
+            syy += ly * ly;
+        }
+        if (n < 2)
+            return new LogLogFit(Double.NaN, Double.NaN, Double.NaN, n == 1 ? Math.exp(sy - sx) : Double.NaN, n);
+
+        double vx = sxx - sx * sx / n;
+        double vy = syy - sy * sy / n;
+        double cxy = sxy - sx * sy / n;
+        double slope = vx > 0 ? cxy / vx : Double.NaN;
+        double intercept = (sy - slope * sx) / n;
+        double r2 = vx > 0 && vy > 0 ? cxy * cxy / (vx * vy) : 1;
+        return new LogLogFit(slope, Math.exp(intercept), r2, Math.exp((sy - sx) / n), n);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("slope=%.3f constant=%.4g r2=%.4f unit-slope constant=%.4g (%d points)",
+                slope, constant, r2, unitConstant, points);
+    }
+}
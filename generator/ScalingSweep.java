@@ -0,0 +1,237 @@
+package generator;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.*;
+
+import algorithms.MSTEngine;
+import algorithms.models.AlgorithmResult;
+import algorithms.models.Graph;
+
+/**
+ * Scaling sweep over a (vertices x density) grid: every engine runs several
+ * times on one connected G(n, p) graph per grid point, and the medians are
+ * fitted against E log V, E α(V) and V² with a log-log regression
+ * (LogLogFit). Crossovers are the densities, per vertex count, where two
+ * engines swap places, interpolated on log density.
+ *
+ * Writes three CSV files: &lt;out&gt;.csv (one row per point and engine),
+ * &lt;out&gt;_fits.csv (one row per engine and model) and
+ * &lt;out&gt;_crossovers.csv (one row per vertex count and engine pair).
+ *
+ * Usage: ScalingSweep [vertices=250,500,1000,2000] [density=0.01,0.03,0.1,0.3,0.6]
+ *        [engines=PRIM_4ARY,PRIM_DENSE,KRUSKAL,FILTER_KRUSKAL,BORUVKA] [runs=5]
+ *        [weights=UNIFORM_INT] [seed=42] [out=scaling_sweep]
+ */
+public class ScalingSweep {
+
+    /** Work models the measured times are fitted against. */
+    public enum Model {
+        E_LOG_V, E_ALPHA_V, V_SQUARED;
+
+        public double size(double v, double e) {
+            switch (this) {
+                case E_LOG_V:
+                    return e * Math.log(Math.max(2, v)) / Math.log(2);
+                case E_ALPHA_V:
+                    return e * inverseAckermann(v);
+                case V_SQUARED:
+                    return v * v;
+                default:
+                    throw new IllegalStateException("Unknown model: " + this);
+            }
+        }
+    }
+
+    /** One engine's timings on one grid point. */
+    static final class Point {
+        final int vertices;
+        final int edges;
+        final double density;
+        final MSTEngine engine;
+        final double medianMs;
+        final double minMs;
+        final long operations;
+        final double cost;
+
+        Point(int vertices, int edges, double density, MSTEngine engine, double medianMs, double minMs,
+                long operations, double cost) {
+            this.vertices = vertices;
+            this.edges = edges;
+            this.density = density;
+            this.engine = engine;
+            this.medianMs = medianMs;
+            this.minMs = minMs;
+            this.operations = operations;
+            this.cost = cost;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0)
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            opts.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        int[] vertices = Arrays.stream(opts.getOrDefault("vertices", "250,500,1000,2000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        double[] densities = Arrays.stream(opts.getOrDefault("density", "0.01,0.03,0.1,0.3,0.6").split(","))
+                .mapToDouble(Double::parseDouble).sorted().toArray();
+        List<MSTEngine> engines = new ArrayList<>();
+        for (String name : opts.getOrDefault("engines", "PRIM_4ARY,PRIM_DENSE,KRUSKAL,FILTER_KRUSKAL,BORUVKA").split(","))
+            engines.add(MSTEngine.valueOf(name));
+        int runs = Integer.parseInt(opts.getOrDefault("runs", "5"));
+        WeightDistribution weights = WeightDistribution.valueOf(opts.getOrDefault("weights", "UNIFORM_INT"));
+        long seed = Long.parseLong(opts.getOrDefault("seed", "42"));
+        String out = opts.getOrDefault("out", "scaling_sweep");
+
+        List<Point> points = new ArrayList<>();
+        int id = 0;
+        for (int v : vertices) {
+            for (double d : densities) {
+                long edges = Math.round(d * v * (v - 1) / 2.0);
+                Graph g = new SyntheticGraphs(new GraphSpec(++id, GraphFamily.ERDOS_RENYI, v, edges,
+                        weights, seed + id, true)).toGraph();
+                for (MSTEngine engine : engines) {
+                    Point p = measure(g, engine, runs);
+                    points.add(p);
+                    System.out.printf("V=%d E=%d density=%.3f %s: median %.3f ms%n",
+                            p.vertices, p.edges, p.density, engine, p.medianMs);
+                }
+            }
+        }
+
+        writePoints(out + ".csv", points);
+        writeFits(out + "_fits.csv", points, engines);
+        writeCrossovers(out + "_crossovers.csv", points, vertices, engines);
+        System.out.printf("✅ Sweep of %d points written to %s.csv, %s_fits.csv, %s_crossovers.csv%n",
+                points.size(), out, out, out);
+    }
+
+    /** One warm-up run, then the median and minimum of runs timed runs. */
+    static Point measure(Graph g, MSTEngine engine, int runs) {
+        AlgorithmResult result = engine.run(g);
+        double[] times = new double[runs];
+        for (int r = 0; r < runs; r++) {
+            result = engine.run(g);
+            times[r] = result.executionTimeMs;
+        }
+        Arrays.sort(times);
+        return new Point(g.compact().vertexCount(), g.compact().edgeCount(), g.density(), engine,
+                times[runs / 2], times[0], result.operationCount, result.totalCost);
+    }
+
+    /**
+     * Densities where log(timeA / timeB) changes sign: interpolated on log
+     * density between consecutive samples, or a sample itself on an exact tie.
+     */
+    public static double[] crossovers(double[] densities, double[] timeA, double[] timeB) {
+        int n = densities.length;
+        double[] diff = new double[n];
+        for (int i = 0; i < n; i++)
+            diff[i] = Math.log(timeA[i] / timeB[i]);
+        double[] found = new double[2 * n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (diff[i] == 0)
+                found[count++] = densities[i];
+            if (i + 1 < n && diff[i] * diff[i + 1] < 0) {
+                double t = diff[i] / (diff[i] - diff[i + 1]);
+                double lo = Math.log(densities[i]), hi = Math.log(densities[i + 1]);
+                found[count++] = Math.exp(lo + t * (hi - lo));
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Inverse Ackermann in Tarjan's form: smallest k with A_k(1) >= n, where
+     * A_1(1) = 3, A_2(1) = 7, A_3(1) = 2047 and A_4(1) exceeds any graph size.
+     */
+    static int inverseAckermann(double n) {
+        if (n <= 3)
+            return 1;
+        if (n <= 7)
+            return 2;
+        if (n <= 2047)
+            return 3;
+        return 4;
+    }
+
+    private static void writePoints(String file, List<Point> points) throws IOException {
+        try (FileWriter csv = new FileWriter(file)) {
+            csv.append("Vertices,Edges,Density,Engine,Median_ms,Min_ms,Operations,Cost\n");
+            for (Point p : points) {
+                csv.append(String.format(Locale.ROOT, "%d,%d,%.5f,%s,%.4f,%.4f,%d,%.2f\n",
+                        p.vertices, p.edges, p.density, p.engine, p.medianMs, p.minMs, p.operations, p.cost));
+            }
+        }
+    }
+
+    private static void writeFits(String file, List<Point> points, List<MSTEngine> engines) throws IOException {
+        try (FileWriter csv = new FileWriter(file)) {
+            csv.append("Engine,Model,Slope,Constant,R2,Unit_Slope_Constant,Points\n");
+            for (MSTEngine engine : engines) {
+                List<Point> mine = new ArrayList<>();
+                for (Point p : points) {
+                    if (p.engine == engine)
+                        mine.add(p);
+                }
+                double[] y = new double[mine.size()];
+                for (int i = 0; i < y.length; i++)
+                    y[i] = mine.get(i).medianMs;
+                for (Model model : Model.values()) {
+                    double[] x = new double[mine.size()];
+                    for (int i = 0; i < x.length; i++)
+                        x[i] = model.size(mine.get(i).vertices, mine.get(i).edges);
+                    LogLogFit fit = LogLogFit.fit(x, y);
+                    csv.append(String.format(Locale.ROOT, "%s,%s,%.4f,%.6g,%.5f,%.6g,%d\n",
+                            engine, model, fit.slope, fit.constant, fit.r2, fit.unitConstant, fit.points));
+                    System.out.printf("%-16s %-10s %s%n", engine, model, fit);
+                }
+            }
+        }
+    }
+
+    private static void writeCrossovers(String file, List<Point> points, int[] vertices,
+            List<MSTEngine> engines) throws IOException {
+        try (FileWriter csv = new FileWriter(file)) {
+            csv.append("Vertices,Engine_A,Engine_B,Crossover_Density,Faster_Above\n");
+            for (int v : vertices) {
+                Map<MSTEngine, List<Point>> byEngine = new EnumMap<>(MSTEngine.class);
+                for (Point p : points) {
+                    if (p.vertices == v)
+                        byEngine.computeIfAbsent(p.engine, k -> new ArrayList<>()).add(p);
+                }
+                for (int a = 0; a < engines.size(); a++) {
+                    for (int b = a + 1; b < engines.size(); b++) {
+                        List<Point> pa = byEngine.get(engines.get(a));
+                        List<Point> pb = byEngine.get(engines.get(b));
+                        int n = pa.size();
+                        double[] density = new double[n], ta = new double[n], tb = new double[n];
+                        for (int i = 0; i < n; i++) {
+                            density[i] = pa.get(i).density;
+                            ta[i] = pa.get(i).medianMs;
+                            tb[i] = pb.get(i).medianMs;
+                        }
+                        double[] cross = crossovers(density, ta, tb);
+                        // Engine ahead at the densest point; with no crossover it leads everywhere
+                        MSTEngine above = ta[n - 1] <= tb[n - 1] ? engines.get(a) : engines.get(b);
+                        if (cross.length == 0)
+                            csv.append(String.format("%d,%s,%s,,%s\n", v, engines.get(a), engines.get(b), above));
+                        for (double c : cross) {
+                            csv.append(String.format(Locale.ROOT, "%d,%s,%s,%.5f,%s\n",
+                                    v, engines.get(a), engines.get(b), c, above));
+                        }
+                        if (cross.length > 0) {
+                            System.out.printf("V=%d: %s and %s cross at density %s; %s ahead above%n",
+                                    v, engines.get(a), engines.get(b), Arrays.toString(cross), above);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package generator;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import algorithms.IntUnionFind;
+import algorithms.io.BinaryGraphWriter;
+import algorithms.models.CompactGraph;
+import algorithms.models.Graph;
+
+/**
+ * Streams the edges of one GraphSpec without holding them: every forEach
+ * replays the same edges from a SplittableRandom seeded with spec.seed, so a
+ * writer can take several passes. Extra memory is O(V) at most (point
+ * coordinates, power-law degree table, union-find for connectivity).
+ *
+ * Vertices are named V0 .. V(n-1). Weights are drawn from spec.weights and
+ * rounded to float, so the JSON and binary outputs of a spec hold the same
+ * graph. With spec.connected, one extra pass finds the components and the
+ * edge (v - 1, v) is appended for every v that starts a new one; that is the
+ * fewest edges that connect the graph.
+ */
+public final class SyntheticGraphs implements BinaryGraphWriter.EdgeStream {
+
+    /** Degree exponent of the POWER_LAW family. */
+    static final double POWER_LAW_EXPONENT = 2.5;
+
+    public final GraphSpec spec;
+    private int[] bridges;
+
+    public SyntheticGraphs(GraphSpec spec) {
+        this.spec = spec;
+    }
+
+    public static String name(int v) {
+        return "V" + v;
+    }
+
+    @Override
+    public void forEach(BinaryGraphWriter.EdgeConsumer consumer) throws IOException {
+        if (spec.connected && bridges == null)
+            bridges = bridges();
+        SplittableRandom rand = new SplittableRandom(spec.seed);
+        generate(rand, consumer);
+        if (bridges != null) {
+            for (int v : bridges)
+                consumer.edge(v - 1, v, weight(rand));
+        }
+    }
+
+    /** Materializes the graph on the heap; for tests and small specs. */
+    public Graph toGraph() throws IOException {
+        CompactGraph.Builder builder = new CompactGraph.Builder();
+        for (int v = 0; v < spec.vertices; v++)
+            builder.addVertex(name(v));
+        forEach(builder::addEdge);
+        return new Graph(spec.id, builder.build());
+    }
+
+    /** Vertices v > 0 whose edge to v - 1 joins a new component. */
+    private int[] bridges() throws IOException {
+        IntUnionFind uf = new IntUnionFind(spec.vertices);
+        generate(new SplittableRandom(spec.seed), (u, v, w) -> uf.union(u, v));
+        int[] starts = new int[Math.max(0, uf.componentCount() - 1)];
+        int count = 0;
+        for (int v = 1; v < spec.vertices && count < starts.length; v++) {
+            if (uf.union(v - 1, v))
+                starts[count++] = v;
+        }
+        return starts;
+    }
+
+    private double weight(SplittableRandom rand) {
+        return (float) spec.weights.next(rand);
+    }
+
+    private void generate(SplittableRandom rand, BinaryGraphWriter.EdgeConsumer out) throws IOException {
+        switch (spec.family) {
+            case ERDOS_RENYI:
+                erdosRenyi(rand, out);
+                break;
+            case GEOMETRIC:
+                geometric(rand, out);
+                break;
+            case GRID:
+                grid(rand, out);
+                break;
+            case POWER_LAW:
+                powerLaw(rand, out);
+                break;
+            case COMPLETE:
+                complete(rand, out);
+                break;
+            default:
+                throw new IllegalStateException("Unknown family: " + spec.family);
+        }
+    }
+
+    /**
+     * G(n, p) by geometric skipping (Batagelj and Brandes): the gap to the
+     * next present pair is drawn directly, so time is O(V + E) however
+     * sparse the graph is.
+     */
+    private void erdosRenyi(SplittableRandom rand, BinaryGraphWriter.EdgeConsumer out) throws IOException {
+        long n = spec.vertices;
+        double pairs = n * (n - 1) / 2.0;
+        double p = pairs > 0 ? Math.min(1, spec.edges / pairs) : 0;
+        if (p >= 1) {
+            complete(rand, out);
+            return;
+        }
+        if (p <= 0)
+            return;
+
+        double logQ = Math.log1p(-p);
+        long v = 1, w = -1;
+        while (v < n) {
+            double skip = Math.floor(Math.log1p(-rand.nextDouble()) / logQ);
+            if (skip >= pairs)
+                break;
+            w += 1 + (long) skip;
+            while (w >= v && v < n) {
+                w -= v;
+                v++;
+            }
+            if (v < n)
+                out.edge((int) w, (int) v, weight(rand));
+        }
+    }
+
+    /**
+     * Random geometric graph. Points are bucketed into square cells at least
+     * one radius wide, so only the own and four forward neighbour cells are
+     * compared.
+     */
+    private void geometric(SplittableRandom rand, BinaryGraphWriter.EdgeConsumer out) throws IOException {
+        int n = spec.vertices;
+        float[] x = new float[n], y = new float[n];
+        for (int v = 0; v < n; v++) {
+            x[v] = (float) rand.nextDouble();
+            y[v] = (float) rand.nextDouble();
+        }
+        if (n < 2 || spec.edges == 0)
+            return;
+        double radius = Math.sqrt(2.0 * spec.edges / n / (Math.PI * (n - 1)));
+        double r2 = radius * radius;
+        int cells = (int) Math.max(1, Math.min(Math.floor(1 / radius), Math.ceil(Math.sqrt(n))));
+
+        int[] start = new int[cells * cells + 1];
+        int[] cellOf = new int[n];
+        for (int v = 0; v < n; v++) {
+            int cx = Math.min(cells - 1, (int) (x[v] * cells));
+            int cy = Math.min(cells - 1, (int) (y[v] * cells));
+            cellOf[v] = cx * cells + cy;
+            start[cellOf[v] + 1]++;
+        }
+        for (int c = 0; c < cells * cells; c++)
+            start[c + 1] += start[c];
+        int[] order = new int[n];
+        int[] cursor = Arrays.copyOf(start, cells * cells);
+        for (int v = 0; v < n; v++)
+            order[cursor[cellOf[v]]++] = v;
+
+        int[][] forward = { { 1, -1 }, { 1, 0 }, { 1, 1 }, { 0, 1 } };
+        for (int cx = 0; cx < cells; cx++) {
+            for (int cy = 0; cy < cells; cy++) {
+                int c = cx * cells + cy;
+                for (int i = start[c]; i < start[c + 1]; i++) {
+                    int u = order[i];
+                    for (int j = i + 1; j < start[c + 1]; j++)
+                        near(u, order[j], x, y, r2, rand, out);
+                    for (int[] d : forward) {
+                        int nx = cx + d[0], ny = cy + d[1];
+                        if (nx >= cells || ny < 0 || ny >= cells)
+                            continue;
+                        int nc = nx * cells + ny;
+                        for (int j = start[nc]; j < start[nc + 1]; j++)
+                            near(u, order[j], x, y, r2, rand, out);
+                    }
+                }
+            }
+        }
+    }
+
+    private void near(int u, int v, float[] x, float[] y, double r2, SplittableRandom rand,
+            BinaryGraphWriter.EdgeConsumer out) throws IOException {
+        double dx = x[u] - x[v], dy = y[u] - y[v];
+        if (dx * dx + dy * dy <= r2)
+            out.edge(u, v, weight(rand));
+    }
+
+    /** Row-major lattice of ceil(sqrt(V)) columns; vertex v sits at (v / side, v % side). */
+    private void grid(SplittableRandom rand, BinaryGraphWriter.EdgeConsumer out) throws IOException {
+        int n = spec.vertices;
+        int side = (int) Math.ceil(Math.sqrt(n));
+        long lattice = 0;
+        for (int v = 0; v < n; v++) {
+            if (v % side + 1 < side && v + 1 < n)
+                lattice++;
+            if ((long) v + side < n)
+                lattice++;
+        }
+        double keep = lattice > 0 ? Math.min(1, (double) spec.edges / lattice) : 0;
+        for (int v = 0; v < n; v++) {
+            if (v % side + 1 < side && v + 1 < n && rand.nextDouble() < keep)
+                out.edge(v, v + 1, weight(rand));
+            if ((long) v + side < n && rand.nextDouble() < keep)
+                out.edge(v, v + side, weight(rand));
+        }
+    }
+
+    /**
+     * Chung-Lu: both endpoints of each edge are drawn with probability
+     * proportional to (v + 1)^(-1 / (exponent - 1)), which gives expected
+     * degrees with a power-law tail. Self-loops are redrawn, but pairs are
+     * not deduplicated: the result is a multigraph in which hub pairs get
+     * parallel edges with independent weights. The MST engines treat those
+     * like any other edges, and the edge count stays exact.
+     */
+    private void powerLaw(SplittableRandom rand, BinaryGraphWriter.EdgeConsumer out) throws IOException {
+        int n = spec.vertices;
+        if (n < 2)
+            return;
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int v = 0; v < n; v++) {
+            total += Math.pow(v + 1, -1 / (POWER_LAW_EXPONENT - 1));
+            cumulative[v] = total;
+        }
+        for (long e = 0; e < spec.edges; e++) {
+            int u = sample(cumulative, total, rand);
+            int v;
+            do {
+                v = sample(cumulative, total, rand);
+            } while (v == u);
+            out.edge(u, v, weight(rand));
+        }
+    }
+
+    private static int sample(double[] cumulative, double total, SplittableRandom rand) {
+        double t = rand.nextDouble() * total;
+        int lo = 0, hi = cumulative.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] > t)
+                hi = mid;
+            else
+                lo = mid + 1;
+        }
+        return lo;
+    }
+
+    private void complete(SplittableRandom rand, BinaryGraphWriter.EdgeConsumer out) throws IOException {
+        int n = spec.vertices;
+        for (int u = 0; u < n; u++) {
+            for (int v = u + 1; v < n; v++)
+                out.edge(u, v, weight(rand));
+        }
+    }
+}
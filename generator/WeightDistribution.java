@@ -0,0 +1,32 @@
+package generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Edge-weight distributions for synthetic graphs.
+ */
+public enum WeightDistribution {
+    /** Integers 1-100, like the assignment dataset. */
+    UNIFORM_INT,
+    /** Reals in [1, 100). */
+    UNIFORM_REAL,
+    /** Only five distinct weights, so most comparisons are ties. */
+    HEAVY_TIES,
+    /** Exponential with mean 10, rounded to two decimals. */
+    EXPONENTIAL;
+
+    public double next(SplittableRandom rand) {
+        switch (this) {
+            case UNIFORM_INT:
+                return rand.nextInt(100) + 1;
+            case UNIFORM_REAL:
+                return 1 + rand.nextDouble() * 99;
+            case HEAVY_TIES:
+                return (rand.nextInt(5) + 1) * 10;
+            case EXPONENTIAL:
+                return Math.round(-10 * Math.log(1 - rand.nextDouble()) * 100) / 100.0;
+            default:
+                throw new IllegalStateException("Unknown distribution: " + this);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package algorithms;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API arg-min. Lives in incubator-src/, compiled separately with
+ * --add-modules jdk.incubator.vector, and is only instantiated reflectively
+ * by MinScan once the module is known to be present.
+ */
+final class VectorMinScan implements MinScan.Kernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorMinScan() {
+    }
+
+    @Override
+    public int argMin(double[] keys, int n) {
+        int bound = SPECIES.loopBound(n);
+        int step = SPECIES.length();
+
+        // Pass 1: lane-wise minimum, then reduce across lanes
+        DoubleVector acc = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+        int i = 0;
+        for (; i < bound; i += step)
+            acc = acc.min(DoubleVector.fromArray(SPECIES, keys, i));
+        double min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < n; i++) {
+            if (keys[i] < min)
+                min = keys[i];
+        }
+        if (min == Double.POSITIVE_INFINITY)
+            return -1;
+
+        // Pass 2: first position holding the minimum
+        for (i = 0; i < bound; i += step) {
+            VectorMask<Double> hit = DoubleVector.fromArray(SPECIES, keys, i).eq(min);
+            if (hit.anyTrue())
+                return i + hit.firstTrue();
+        }
+        for (; i < n; i++) {
+            if (keys[i] == min)
+                return i;
+        }
+        return -1;
+    }
+}
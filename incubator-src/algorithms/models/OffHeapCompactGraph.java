@@ -0,0 +1,141 @@
+package algorithms.models;
+
+import java.util.Map;
+
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+/**
+ * CompactGraph whose edge arrays and CSR adjacency live in native memory
+ * allocated through the jdk.incubator.foreign API (JDK 17). Only the vertex
+ * names and the name-to-id map stay on the heap. Built by OffHeapEdgeStore;
+ * like it, this class lives in incubator-src/.
+ *
+ * All segments belong to one shared ResourceScope, so engines may read them
+ * from several threads, and close() frees them at once instead of waiting
+ * for the garbage collector. Any access after close() throws
+ * IllegalStateException.
+ */
+final class OffHeapCompactGraph extends CompactGraph {
+    private final String[] names;
+    private final Map<String, Integer> ids;
+    private final int edgeCount;
+
+    private final ResourceScope scope;
+    private final MemorySegment from;
+    private final MemorySegment to;
+    private final MemorySegment weight;
+    private final MemorySegment offset;
+    private final MemorySegment target;
+    private final MemorySegment edgeIndex;
+
+    /** Takes ownership of scope and the edge segments in it, and builds CSR there. */
+    OffHeapCompactGraph(String[] names, Map<String, Integer> ids, ResourceScope scope,
+            MemorySegment from, MemorySegment to, MemorySegment weight, int edgeCount) {
+        this.names = names;
+        this.ids = ids;
+        this.edgeCount = edgeCount;
+        this.scope = scope;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        int n = names.length;
+        int m = edgeCount;
+
+        try {
+            offset = allocate(4L * (n + 1), 4);
+            target = allocate(8L * m, 4);
+            edgeIndex = allocate(8L * m, 4);
+
+            // Count degrees, prefix-sum them into offsets, then scatter edges;
+            // the heap cursor array is O(V) and dropped afterwards
+            int[] cursor = new int[n + 1];
+            for (int e = 0; e < m; e++) {
+                cursor[from(e) + 1]++;
+                cursor[to(e) + 1]++;
+            }
+            for (int v = 0; v < n; v++)
+                cursor[v + 1] += cursor[v];
+            for (int v = 0; v <= n; v++)
+                MemoryAccess.setIntAtIndex(offset, v, cursor[v]);
+            for (int e = 0; e < m; e++) {
+                int u = from(e), v = to(e);
+                MemoryAccess.setIntAtIndex(target, cursor[u], v);
+                MemoryAccess.setIntAtIndex(edgeIndex, cursor[u]++, e);
+                MemoryAccess.setIntAtIndex(target, cursor[v], u);
+                MemoryAccess.setIntAtIndex(edgeIndex, cursor[v]++, e);
+            }
+        } catch (RuntimeException | Error e) {
+            scope.close();
+            throw e;
+        }
+    }
+
+    private MemorySegment allocate(long bytes, long alignment) {
+        return MemorySegment.allocateNative(Math.max(bytes, alignment), alignment, scope);
+    }
+
+    /** Bytes of native memory held by this graph's arrays. */
+    long nativeBytes() {
+        return from.byteSize() + to.byteSize() + weight.byteSize()
+                + offset.byteSize() + target.byteSize() + edgeIndex.byteSize();
+    }
+
+    @Override
+    public void close() {
+        if (scope.isAlive())
+            scope.close();
+    }
+
+    @Override
+    public int vertexCount() {
+        return names.length;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public String name(int v) {
+        return names[v];
+    }
+
+    @Override
+    public int id(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    @Override
+    public int from(int e) {
+        return MemoryAccess.getIntAtIndex(from, e);
+    }
+
+    @Override
+    public int to(int e) {
+        return MemoryAccess.getIntAtIndex(to, e);
+    }
+
+    @Override
+    public double weight(int e) {
+        return MemoryAccess.getDoubleAtIndex(weight, e);
+    }
+
+    @Override
+    public int offset(int v) {
+        return MemoryAccess.getIntAtIndex(offset, v);
+    }
+
+    @Override
+    public int target(int i) {
+        return MemoryAccess.getIntAtIndex(target, i);
+    }
+
+    @Override
+    public int edgeAt(int i) {
+        return MemoryAccess.getIntAtIndex(edgeIndex, i);
+    }
+}
@@ -0,0 +1,99 @@
+package algorithms.models;
+
+import java.lang.ref.Cleaner;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+/**
+ * Builder edge storage in native memory. Edges are written straight into
+ * from/to/weight segments that double when full; each generation has its
+ * own scope, closed once its contents are copied into the next, so the edges
+ * never pass through heap arrays. build() hands the last scope to an
+ * OffHeapCompactGraph, which lays out the CSR adjacency in it.
+ *
+ * Lives in incubator-src/, compiled separately with --add-modules
+ * jdk.incubator.foreign, and is only instantiated reflectively by
+ * CompactGraph once the module is known to be present. Scopes are registered
+ * with a Cleaner, so a builder abandoned before build() (a parse error, say)
+ * is still freed.
+ */
+final class OffHeapEdgeStore implements CompactGraph.EdgeStore {
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final long INITIAL_CAPACITY = 1024;
+
+    /** Loaded by CompactGraph through Class.forName. */
+    static final class Factory implements Supplier<CompactGraph.EdgeStore> {
+        Factory() {
+        }
+
+        @Override
+        public CompactGraph.EdgeStore get() {
+            return new OffHeapEdgeStore();
+        }
+    }
+
+    private ResourceScope scope;
+    private MemorySegment from;
+    private MemorySegment to;
+    private MemorySegment weight;
+    private long capacity;
+
+    OffHeapEdgeStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public void add(int e, int u, int v, double w) {
+        if (scope == null)
+            throw new IllegalStateException("Off-heap builder already handed its edges to a graph");
+        if (e == capacity)
+            grow();
+        MemoryAccess.setIntAtIndex(from, e, u);
+        MemoryAccess.setIntAtIndex(to, e, v);
+        MemoryAccess.setDoubleAtIndex(weight, e, w);
+    }
+
+    @Override
+    public CompactGraph build(String[] names, Map<String, Integer> ids, int edgeCount) {
+        if (scope == null)
+            throw new IllegalStateException("Off-heap builder already handed its edges to a graph");
+        ResourceScope owned = scope;
+        scope = null;
+        return new OffHeapCompactGraph(names, ids, owned,
+                from.asSlice(0, 4L * edgeCount),
+                to.asSlice(0, 4L * edgeCount),
+                weight.asSlice(0, 8L * edgeCount),
+                edgeCount);
+    }
+
+    private void grow() {
+        ResourceScope old = scope;
+        MemorySegment oldFrom = from, oldTo = to, oldWeight = weight;
+        allocate(2 * capacity);
+        from.copyFrom(oldFrom);
+        to.copyFrom(oldTo);
+        weight.copyFrom(oldWeight);
+        old.close();
+    }
+
+    private void allocate(long edges) {
+        ResourceScope next = ResourceScope.newSharedScope(CLEANER);
+        try {
+            MemorySegment f = MemorySegment.allocateNative(4 * edges, 4, next);
+            MemorySegment t = MemorySegment.allocateNative(4 * edges, 4, next);
+            MemorySegment w = MemorySegment.allocateNative(8 * edges, 8, next);
+            from = f;
+            to = t;
+            weight = w;
+        } catch (RuntimeException | Error e) {
+            next.close();
+            throw e;
+        }
+        scope = next;
+        capacity = edges;
+    }
+}
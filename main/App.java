@@ -1,71 +1,55 @@
 package main;
 
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.Reader;
-import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.List;
-
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
+import java.io.UncheckedIOException;
 
 import algorithms.KruskalMST;
 import algorithms.PrimMST;
+import algorithms.batch.BatchRunner;
+import algorithms.cache.ResultCache;
+import algorithms.io.GraphSource;
+import algorithms.io.ResultJsonWriter;
 import algorithms.models.AlgorithmResult;
-import algorithms.models.Edge;
 import algorithms.models.Graph;
 import algorithms.models.MSTResult;
 
 public class App {
-    public static void main(String[] args) throws IOException {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-
-        // 1. Read input JSON
-        Reader reader = new FileReader("datasets/assign_3_input.json");
-        JsonObject jsonObj = gson.fromJson(reader, JsonObject.class);
-        JsonArray graphsArray = jsonObj.getAsJsonArray("graphs");
+    /** Input dataset; override with -Dmst.input=path (.json or .mstg). */
+    private static final String INPUT = System.getProperty("mst.input", "datasets/assign_3_input.json");
 
-        List<MSTResult> results = new ArrayList<>();
+    /** Output detail (-Dmst.output.detail) and opt-in indentation (-Dmst.output.pretty). */
+    private static final ResultJsonWriter.Detail DETAIL = ResultJsonWriter.Detail.fromSystemProperties();
+    private static final boolean PRETTY = Boolean.getBoolean("mst.output.pretty");
 
-        for (JsonElement el : graphsArray) {
-            JsonObject obj = el.getAsJsonObject();
-            int id = obj.get("id").getAsInt();
-            Type listType = new TypeToken<List<String>>() {
-            }.getType();
-            List<String> nodes = gson.fromJson(obj.get("nodes"), listType);
-
-            List<Edge> edges = new ArrayList<>();
-            JsonArray edgesJson = obj.getAsJsonArray("edges");
-            for (JsonElement e : edgesJson) {
-                JsonObject eo = e.getAsJsonObject();
-                edges.add(new Edge(
-                        eo.get("from").getAsString(),
-                        eo.get("to").getAsString(),
-                        eo.get("weight").getAsDouble()));
-            }
+    public static void main(String[] args) throws IOException {
+        ResultCache cache = ResultCache.fromSystemProperties(true);
+
+        // Stream input one graph at a time (JSON, or a mapped .mstg container)
+        // and write each result as soon as it is emitted
+        try (GraphSource graphs = GraphSource.open(INPUT);
+                ResultJsonWriter out = ResultJsonWriter.open("ass_3_output.json", DETAIL, PRETTY)) {
+            BatchRunner.run(graphs, g -> solve(g, cache), result -> {
+                try {
+                    out.write(result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, BatchRunner.Options.fromSystemProperties());
+        }
 
-            Graph g = new Graph(id, nodes, edges);
+        System.out.println("✅ Results written to ass_3_output.json");
+        System.out.println(cache);
+    }
 
-            AlgorithmResult prim = PrimMST.run(g);
-            AlgorithmResult kruskal = KruskalMST.run(g);
+    private static MSTResult solve(Graph g, ResultCache cache) {
+        try (g) {
+            ResultCache.GraphKey key = cache.key(g);
+            AlgorithmResult prim = cache.get(key, PrimMST.engineFor(g), AlgorithmResult.measured(PrimMST::run));
+            AlgorithmResult kruskal = cache.get(key, "kruskal", AlgorithmResult.measured(KruskalMST::run));
 
-            MSTResult.InputStats stats = new MSTResult.InputStats(nodes.size(), edges.size());
-            results.add(new MSTResult(id, stats, prim, kruskal));
+            MSTResult.InputStats stats = new MSTResult.InputStats(
+                    g.compact().vertexCount(), g.compact().edgeCount());
+            return new MSTResult(g.id, stats, prim, kruskal);
         }
-
-        // 2. Write output JSON
-        JsonObject output = new JsonObject();
-        output.add("results", gson.toJsonTree(results));
-        FileWriter writer = new FileWriter("ass_3_output.json");
-        gson.toJson(output, writer);
-        writer.close();
-
-        System.out.println("✅ Results written to ass_3_output.json");
     }
 }
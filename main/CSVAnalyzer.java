@@ -1,172 +1,152 @@
 package main;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
- * Analyzes the MST comparison CSV and generates insights
+ * Analyzes the MST comparison CSV and generates insights.
+ *
+ * Usage: CSVAnalyzer [results.csv ...] (default mst_comparison_results.csv);
+ * several files are merged into one report.
  */
 public class CSVAnalyzer {
 
     public static void main(String[] args) throws IOException {
-        analyzeResults("mst_comparison_results.csv");
+        if (args.length == 0)
+            analyzeResults("mst_comparison_results.csv");
+        else
+            analyzeResults(args);
     }
 
-    public static void analyzeResults(String csvFile) throws IOException {
-        List<String[]> rows = readCSV(csvFile);
+    /**
+     * Prints the report over one or more results files, read in a single
+     * streaming pass each (see ResultsSummary); files are scanned in
+     * parallel, up to -Dmst.analyzer.threads at once (default cores).
+     */
+    public static void analyzeResults(String... csvFiles) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String file : csvFiles)
+            files.add(Path.of(file));
+        int threads = Integer.getInteger("mst.analyzer.threads", Runtime.getRuntime().availableProcessors());
+        ResultsSummary summary = ResultsSummary.scan(files, threads);
 
         System.out.println("\n╔════════════════════════════════════════════════╗");
         System.out.println("║     MST ALGORITHMS - ANALYSIS REPORT          ║");
         System.out.println("╚════════════════════════════════════════════════╝\n");
 
         // 1. Cost Accuracy Check
-        analyzeCostAccuracy(rows);
+        analyzeCostAccuracy(summary);
 
         // 2. Performance Summary
-        analyzePerformance(rows);
+        analyzePerformance(summary);
 
         // 3. Scalability Analysis
-        analyzeScalability(rows);
+        analyzeScalability(summary);
 
         // 4. Operation Efficiency
-        analyzeOperations(rows);
+        analyzeOperations(summary);
 
         // 5. Recommendations
-        printRecommendations(rows);
+        printRecommendations(summary);
     }
 
-    private static void analyzeCostAccuracy(List<String[]> rows) {
+    private static void analyzeCostAccuracy(ResultsSummary summary) {
         System.out.println("═══════════════════════════════════════");
         System.out.println("1. COST ACCURACY CHECK");
         System.out.println("═══════════════════════════════════════\n");
 
-        int matches = 0;
-        int mismatches = 0;
-        List<String> mismatchDetails = new ArrayList<>();
-
-        for (String[] row : rows) {
-            String graphId = row[0];
-            double primCost = Double.parseDouble(row[4]);
-            double kruskalCost = Double.parseDouble(row[8]);
-            boolean match = row[12].equals("true");
-
-            if (match) {
-                matches++;
-            } else {
-                mismatches++;
-                mismatchDetails.add(String.format(
-                        "  Graph %s: Prim=%.2f, Kruskal=%.2f (Δ=%.2f)",
-                        graphId, primCost, kruskalCost, Math.abs(primCost - kruskalCost)));
-            }
-        }
+        long rows = summary.rows();
+        long matches = summary.matches();
+        long mismatches = summary.mismatches();
 
         System.out.printf("Matches:    %d / %d (%.1f%%)\n",
-                matches, rows.size(), 100.0 * matches / rows.size());
+                matches, rows, 100.0 * matches / rows);
         System.out.printf("Mismatches: %d / %d (%.1f%%)\n\n",
-                mismatches, rows.size(), 100.0 * mismatches / rows.size());
+                mismatches, rows, 100.0 * mismatches / rows);
 
         if (mismatches > 0) {
             System.out.println("⚠️  WARNING: Cost mismatches detected!");
             System.out.println("Both algorithms MUST produce identical costs.\n");
             System.out.println("Mismatched graphs:");
-            for (String detail : mismatchDetails) {
+            for (String detail : summary.mismatchDetails) {
                 System.out.println(detail);
             }
+            if (mismatches > summary.mismatchDetails.size())
+                System.out.printf("  ... and %d more\n", mismatches - summary.mismatchDetails.size());
             System.out.println("\n❌ CRITICAL: Fix Prim's implementation before submitting!\n");
         } else {
             System.out.println("✅ All costs match perfectly!\n");
         }
     }
 
-    private static void analyzePerformance(List<String[]> rows) {
+    private static void analyzePerformance(ResultsSummary summary) {
         System.out.println("═══════════════════════════════════════");
         System.out.println("2. PERFORMANCE SUMMARY");
         System.out.println("═══════════════════════════════════════\n");
 
-        int primWins = 0;
-        int kruskalWins = 0;
-        double totalPrimTime = 0;
-        double totalKruskalTime = 0;
-
-        for (String[] row : rows) {
-            double primTime = Double.parseDouble(row[7]);
-            double kruskalTime = Double.parseDouble(row[11]);
-            boolean kruskalFaster = row[15].equals("true");
-
-            totalPrimTime += primTime;
-            totalKruskalTime += kruskalTime;
+        long kruskalWins = summary.kruskalWins();
+        long primWins = summary.rows() - kruskalWins;
+        double totalPrimTime = summary.primTimes().sum();
+        double totalKruskalTime = summary.kruskalTimes().sum();
 
-            if (kruskalFaster) {
-                kruskalWins++;
-            } else {
-                primWins++;
-            }
-        }
-
-        System.out.printf("Prim wins:    %d / %d graphs\n", primWins, rows.size());
-        System.out.printf("Kruskal wins: %d / %d graphs\n\n", kruskalWins, rows.size());
+        System.out.printf("Prim wins:    %d / %d graphs\n", primWins, summary.rows());
+        System.out.printf("Kruskal wins: %d / %d graphs\n\n", kruskalWins, summary.rows());
 
         System.out.printf("Total execution time:\n");
         System.out.printf("  Prim:    %.2f ms\n", totalPrimTime);
         System.out.printf("  Kruskal: %.2f ms\n", totalKruskalTime);
         System.out.printf("  Speedup: %.2fx (Kruskal)\n\n", totalPrimTime / totalKruskalTime);
+
+        System.out.printf("Time per graph (ms, p50 / p90 / p99, within %.0f%%):\n",
+                100 * summary.primTimes().accuracy());
+        printPercentiles("Prim:   ", summary.primTimes());
+        printPercentiles("Kruskal:", summary.kruskalTimes());
+        System.out.println();
     }
 
-    private static void analyzeScalability(List<String[]> rows) {
+    private static void printPercentiles(String label, QuantileSketch times) {
+        System.out.printf("  %s %.3f / %.3f / %.3f\n", label,
+                times.quantile(0.5), times.quantile(0.9), times.quantile(0.99));
+    }
+
+    private static void analyzeScalability(ResultsSummary summary) {
         System.out.println("═══════════════════════════════════════");
         System.out.println("3. SCALABILITY ANALYSIS");
         System.out.println("═══════════════════════════════════════\n");
 
         System.out.println("Graph Size Categories:\n");
 
-        // Small: < 50 vertices
-        analyzeCategory(rows, "Small (< 50V)", 0, 50);
-
-        // Medium: 50-500 vertices
-        analyzeCategory(rows, "Medium (50-500V)", 50, 500);
-
-        // Large: > 500 vertices
-        analyzeCategory(rows, "Large (> 500V)", 500, Integer.MAX_VALUE);
-    }
-
-    private static void analyzeCategory(List<String[]> rows, String category,
-            int minV, int maxV) {
-        List<String[]> filtered = new ArrayList<>();
-        for (String[] row : rows) {
-            int vertices = Integer.parseInt(row[1]);
-            if (vertices >= minV && vertices < maxV) {
-                filtered.add(row);
-            }
+        // Small: < 50 vertices, Medium: 50-500 vertices, Large: > 500 vertices
+        for (int c = 0; c < ResultsSummary.CATEGORY_NAMES.length; c++) {
+            analyzeCategory(ResultsSummary.CATEGORY_NAMES[c],
+                    summary.categoryPrimTimes[c], summary.categoryKruskalTimes[c]);
         }
+    }
 
-        if (filtered.isEmpty())
+    private static void analyzeCategory(String category, QuantileSketch primTimes,
+            QuantileSketch kruskalTimes) {
+        if (primTimes.count() == 0)
             return;
 
-        double avgPrimTime = 0, avgKruskalTime = 0;
-        for (String[] row : filtered) {
-            avgPrimTime += Double.parseDouble(row[7]);
-            avgKruskalTime += Double.parseDouble(row[11]);
-        }
-        avgPrimTime /= filtered.size();
-        avgKruskalTime /= filtered.size();
+        double avgPrimTime = primTimes.mean();
+        double avgKruskalTime = kruskalTimes.mean();
 
-        System.out.printf("%s: %d graphs\n", category, filtered.size());
+        System.out.printf("%s: %d graphs\n", category, primTimes.count());
         System.out.printf("  Avg Prim time:    %.3f ms\n", avgPrimTime);
         System.out.printf("  Avg Kruskal time: %.3f ms\n", avgKruskalTime);
+        System.out.printf("  Median times:     %.3f / %.3f ms (Prim / Kruskal)\n",
+                primTimes.median(), kruskalTimes.median());
         System.out.printf("  Speedup:          %.2fx\n\n", avgPrimTime / avgKruskalTime);
     }
 
-    private static void analyzeOperations(List<String[]> rows) {
+    private static void analyzeOperations(ResultsSummary summary) {
         System.out.println("═══════════════════════════════════════");
         System.out.println("4. OPERATION EFFICIENCY");
         System.out.println("═══════════════════════════════════════\n");
 
-        long totalPrimOps = 0, totalKruskalOps = 0;
-
-        for (String[] row : rows) {
-            totalPrimOps += Long.parseLong(row[6]);
-            totalKruskalOps += Long.parseLong(row[10]);
-        }
+        long totalPrimOps = summary.primOperations();
+        long totalKruskalOps = summary.kruskalOperations();
 
         System.out.printf("Total operations:\n");
         System.out.printf("  Prim:    %,d\n", totalPrimOps);
@@ -178,27 +158,11 @@ public class CSVAnalyzer {
         System.out.println("better overall performance on large graphs.\n");
     }
 
-    private static void printRecommendations(List<String[]> rows) {
+    private static void printRecommendations(ResultsSummary summary) {
         System.out.println("═══════════════════════════════════════");
         System.out.println("5. RECOMMENDATIONS");
         System.out.println("═══════════════════════════════════════\n");
 
-        // Find average vertices where Kruskal becomes better
-        double avgVerticesKruskalBetter = 0;
-        int count = 0;
-
-        for (String[] row : rows) {
-            boolean kruskalFaster = row[15].equals("true");
-            if (kruskalFaster) {
-                avgVerticesKruskalBetter += Integer.parseInt(row[1]);
-                count++;
-            }
-        }
-
-        if (count > 0) {
-            avgVerticesKruskalBetter /= count;
-        }
-
         System.out.println("Based on your test results:\n");
         System.out.println("✓ For SMALL graphs (< 50 vertices):");
         System.out.println("  → Use Prim's or Kruskal's (performance similar)");
@@ -214,15 +178,4 @@ public class CSVAnalyzer {
         System.out.println("  → Kruskal benefits from efficient Union-Find");
         System.out.println("  → Prim could be optimized with Fibonacci heap\n");
     }
-
-    private static List<String[]> readCSV(String filename) throws IOException {
-        List<String[]> rows = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
-            String line = br.readLine(); // Skip header
-            while ((line = br.readLine()) != null) {
-                rows.add(line.split(","));
-            }
-        }
-        return rows;
-    }
-}
\ No newline at end of file
+}
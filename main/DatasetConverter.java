@@ -0,0 +1,44 @@
+package main;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import algorithms.io.BinaryGraphWriter;
+import algorithms.io.GraphJsonReader;
+import algorithms.io.MappedGraphFile;
+import algorithms.models.Graph;
+
+/**
+ * Converts the JSON input dataset into the memory-mapped binary container.
+ *
+ * Usage: DatasetConverter [input.json] [output.mstg]
+ *
+ * If reading or writing fails, no output file is left behind.
+ */
+public class DatasetConverter {
+
+    public static void main(String[] args) throws IOException {
+        String input = args.length > 0 ? args[0] : "datasets/assign_3_input.json";
+        String output = args.length > 1 ? args[1]
+                : input.replaceFirst("\\.json$", "") + MappedGraphFile.EXTENSION;
+
+        long start = System.nanoTime();
+        int count = 0;
+        try (GraphJsonReader graphs = GraphJsonReader.open(input);
+                BinaryGraphWriter writer = new BinaryGraphWriter(Path.of(output))) {
+            while (graphs.hasNext()) {
+                Graph g = graphs.next();
+                writer.write(g.id, g.compact(), true);
+                count++;
+            }
+        } catch (IOException | RuntimeException e) {
+            // A parse error leaves a well-formed but partial container
+            Files.deleteIfExists(Path.of(output));
+            throw e;
+        }
+
+        System.out.printf("✅ Converted %d graphs to %s in %.1f ms%n",
+                count, output, (System.nanoTime() - start) / 1_000_000.0);
+    }
+}
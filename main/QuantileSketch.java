@@ -0,0 +1,183 @@
+package main;
+
+/**
+ * Mergeable quantile sketch with relative accuracy (DDSketch, Masson et al.,
+ * 2019). A value x > 0 goes to bucket ceil(log_gamma x) with
+ * gamma = (1 + a) / (1 - a), and every value in bucket i lies within a
+ * relative error a of 2 gamma^i / (gamma + 1), the value reported for it.
+ *
+ * Counts are kept in a long array indexed from the lowest bucket seen, so
+ * memory grows with log(max / min) / a, not with the number of values.
+ * Merging adds counts bucket by bucket: sketches filled from separate files
+ * or threads combine into exactly the sketch of all their values.
+ * Negative values are mirrored into a second store and values within
+ * 1e-9 of zero are counted apart; NaN is ignored.
+ */
+public final class QuantileSketch {
+    public static final double DEFAULT_ACCURACY = 0.01;
+
+    /** Magnitudes at or below this are counted as zero. */
+    private static final double ZERO = 1e-9;
+
+    private final double accuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final Store positive = new Store();
+    private final Store negative = new Store();
+    private long zeros;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch() {
+        this(DEFAULT_ACCURACY);
+    }
+
+    public QuantileSketch(double accuracy) {
+        if (!(accuracy > 0 && accuracy < 1))
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + accuracy);
+        this.accuracy = accuracy;
+        this.gamma = (1 + accuracy) / (1 - accuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value))
+            return;
+        if (value > ZERO)
+            positive.add(index(value), 1);
+        else if (value < -ZERO)
+            negative.add(index(-value), 1);
+        else
+            zeros++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /** Adds every value of other, which must have the same accuracy. */
+    public void merge(QuantileSketch other) {
+        if (other.gamma != gamma)
+            throw new IllegalArgumentException("Cannot merge sketches of accuracy " + accuracy
+                    + " and " + other.accuracy);
+        positive.addAll(other.positive);
+        negative.addAll(other.negative);
+        zeros += other.zeros;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Value of rank floor(q * (count - 1)) in sorted order, within the
+     * relative accuracy; NaN when the sketch is empty.
+     */
+    public double quantile(double q) {
+        if (!(q >= 0 && q <= 1))
+            throw new IllegalArgumentException("Quantile must be in [0, 1]: " + q);
+        if (count == 0)
+            return Double.NaN;
+        long rank = (long) Math.floor(q * (count - 1));
+        double value;
+        if (rank < negative.total) {
+            // Larger magnitudes first: ascending order of the negative values
+            value = -value(negative.indexAtRank(negative.total - 1 - rank));
+        } else if (rank < negative.total + zeros) {
+            value = 0;
+        } else {
+            value = value(positive.indexAtRank(rank - negative.total - zeros));
+        }
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public double median() {
+        return quantile(0.5);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    /** Exact mean of the values added; NaN when empty. */
+    public double mean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    public double min() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double max() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    public double accuracy() {
+        return accuracy;
+    }
+
+    private int index(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    /** Bucket counts over a contiguous index range that grows to fit. */
+    private static final class Store {
+        private long[] counts;
+        /** Bucket index of counts[0]. */
+        private int offset;
+        private long total;
+
+        void add(int index, long n) {
+            if (counts == null) {
+                counts = new long[64];
+                offset = index - 32;
+            } else if (index < offset || index >= offset + counts.length) {
+                grow(index);
+            }
+            counts[index - offset] += n;
+            total += n;
+        }
+
+        void addAll(Store other) {
+            if (other.counts == null)
+                return;
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] != 0)
+                    add(other.offset + i, other.counts[i]);
+            }
+        }
+
+        /** Bucket index holding the value of the given rank, counted from the lowest bucket. */
+        int indexAtRank(long rank) {
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen > rank)
+                    return offset + i;
+            }
+            throw new IllegalStateException("Rank " + rank + " beyond " + total + " values");
+        }
+
+        private void grow(int index) {
+            int low = Math.min(offset, index);
+            int high = Math.max(offset + counts.length - 1, index);
+            int length = Math.max(2 * counts.length, high - low + 1 + 32);
+            // Leave headroom on the side that had to grow
+            int newOffset = index < offset ? high + 1 - length : low;
+            long[] grown = new long[length];
+            System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+            counts = grown;
+            offset = newOffset;
+        }
+    }
+}
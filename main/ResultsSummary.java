@@ -0,0 +1,372 @@
+package main;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Aggregates behind the CSVAnalyzer report, updated row by row in a single
+ * pass over files in the mst_comparison_results.csv layout.
+ *
+ * Columns are found by header name, so extra columns and other column orders
+ * are accepted. Lines and fields are split in a byte buffer, and only the
+ * cells the report uses are parsed, straight into primitives. No row is
+ * kept: memory is a few sketches whatever the file size. Summaries of
+ * separate files merge exactly (counts, sums, sketch buckets), which is how
+ * scan(List) reads many files in parallel.
+ */
+public final class ResultsSummary {
+
+    /** Vertex-count bounds of the scalability categories: [bound[i], bound[i + 1]). */
+    static final int[] CATEGORY_BOUNDS = { 0, 50, 500, Integer.MAX_VALUE };
+    static final String[] CATEGORY_NAMES = { "Small (< 50V)", "Medium (50-500V)", "Large (> 500V)" };
+
+    /** Mismatched graphs kept for the report; the mismatch count itself is exact. */
+    static final int MAX_MISMATCH_DETAILS = 50;
+
+    private static final String[] COLUMNS = { "Graph_ID", "Vertices", "Prim_Cost", "Prim_Operations",
+            "Prim_Time_ms", "Kruskal_Cost", "Kruskal_Operations", "Kruskal_Time_ms", "Cost_Match",
+            "Kruskal_Faster" };
+    private static final int GRAPH_ID = 0, VERTICES = 1, PRIM_COST = 2, PRIM_OPS = 3, PRIM_TIME = 4,
+            KRUSKAL_COST = 5, KRUSKAL_OPS = 6, KRUSKAL_TIME = 7, COST_MATCH = 8, KRUSKAL_FASTER = 9;
+
+    /** Exact powers of ten for plain decimals of up to 15 digits. */
+    private static final double[] POWERS_OF_TEN = new double[16];
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++)
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+
+    long rows;
+    long matches;
+    long kruskalWins;
+    long primOperations;
+    long kruskalOperations;
+    final QuantileSketch primTimes = new QuantileSketch();
+    final QuantileSketch kruskalTimes = new QuantileSketch();
+    final QuantileSketch[] categoryPrimTimes = new QuantileSketch[CATEGORY_NAMES.length];
+    final QuantileSketch[] categoryKruskalTimes = new QuantileSketch[CATEGORY_NAMES.length];
+    final List<String> mismatchDetails = new ArrayList<>();
+
+    public ResultsSummary() {
+        for (int c = 0; c < CATEGORY_NAMES.length; c++) {
+            categoryPrimTimes[c] = new QuantileSketch();
+            categoryKruskalTimes[c] = new QuantileSketch();
+        }
+    }
+
+    /**
+     * Scans every file and merges the summaries in file order, reading up to
+     * threads files at once.
+     */
+    public static ResultsSummary scan(List<Path> files, int threads) throws IOException {
+        ResultsSummary total = new ResultsSummary();
+        if (threads <= 1 || files.size() <= 1) {
+            for (Path file : files)
+                total.merge(scan(file));
+            return total;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, files.size()));
+        try {
+            List<Future<ResultsSummary>> parts = new ArrayList<>();
+            for (Path file : files)
+                parts.add(pool.submit(() -> scan(file)));
+            for (Future<ResultsSummary> part : parts)
+                total.merge(await(part));
+        } finally {
+            pool.shutdownNow();
+        }
+        return total;
+    }
+
+    /** Summary of one file; the first line must be the header. */
+    public static ResultsSummary scan(Path file) throws IOException {
+        ResultsSummary summary = new ResultsSummary();
+        try (InputStream in = Files.newInputStream(file)) {
+            summary.read(new RowReader(file, in));
+        }
+        return summary;
+    }
+
+    /** Adds other's rows after this summary's, as if both files had been one. */
+    public void merge(ResultsSummary other) {
+        rows += other.rows;
+        matches += other.matches;
+        kruskalWins += other.kruskalWins;
+        primOperations += other.primOperations;
+        kruskalOperations += other.kruskalOperations;
+        primTimes.merge(other.primTimes);
+        kruskalTimes.merge(other.kruskalTimes);
+        for (int c = 0; c < CATEGORY_NAMES.length; c++) {
+            categoryPrimTimes[c].merge(other.categoryPrimTimes[c]);
+            categoryKruskalTimes[c].merge(other.categoryKruskalTimes[c]);
+        }
+        for (String detail : other.mismatchDetails) {
+            if (mismatchDetails.size() < MAX_MISMATCH_DETAILS)
+                mismatchDetails.add(detail);
+        }
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long matches() {
+        return matches;
+    }
+
+    public long mismatches() {
+        return rows - matches;
+    }
+
+    public long kruskalWins() {
+        return kruskalWins;
+    }
+
+    public long primOperations() {
+        return primOperations;
+    }
+
+    public long kruskalOperations() {
+        return kruskalOperations;
+    }
+
+    /** Prim times in ms; sum() and count() are exact, quantiles within 1%. */
+    public QuantileSketch primTimes() {
+        return primTimes;
+    }
+
+    public QuantileSketch kruskalTimes() {
+        return kruskalTimes;
+    }
+
+    private void read(RowReader reader) throws IOException {
+        if (!reader.nextLine())
+            throw new IOException(reader.file + ": empty file, expected a header line");
+        int[] column = new int[COLUMNS.length];
+        int needed = 0;
+        for (int c = 0; c < COLUMNS.length; c++) {
+            column[c] = reader.column(COLUMNS[c]);
+            if (column[c] < 0)
+                throw new IOException(reader.file + ": missing column " + COLUMNS[c]);
+            needed = Math.max(needed, column[c] + 1);
+        }
+
+        while (reader.nextLine()) {
+            if (reader.blank())
+                continue;
+            if (reader.fields < needed) {
+                throw new IOException(String.format("%s:%d: expected at least %d columns, found %d",
+                        reader.file, reader.lineNumber, needed, reader.fields));
+            }
+            try {
+                int vertices = (int) reader.longAt(column[VERTICES]);
+                double primTime = reader.doubleAt(column[PRIM_TIME]);
+                double kruskalTime = reader.doubleAt(column[KRUSKAL_TIME]);
+                boolean costMatch = reader.isTrue(column[COST_MATCH]);
+
+                rows++;
+                if (costMatch) {
+                    matches++;
+                } else if (mismatchDetails.size() < MAX_MISMATCH_DETAILS) {
+                    double primCost = reader.doubleAt(column[PRIM_COST]);
+                    double kruskalCost = reader.doubleAt(column[KRUSKAL_COST]);
+                    mismatchDetails.add(String.format("  Graph %s: Prim=%.2f, Kruskal=%.2f (Δ=%.2f)",
+                            reader.text(column[GRAPH_ID]), primCost, kruskalCost,
+                            Math.abs(primCost - kruskalCost)));
+                }
+                if (reader.isTrue(column[KRUSKAL_FASTER]))
+                    kruskalWins++;
+                primOperations += reader.longAt(column[PRIM_OPS]);
+                kruskalOperations += reader.longAt(column[KRUSKAL_OPS]);
+                primTimes.add(primTime);
+                kruskalTimes.add(kruskalTime);
+                int c = category(vertices);
+                if (c >= 0) {
+                    categoryPrimTimes[c].add(primTime);
+                    categoryKruskalTimes[c].add(kruskalTime);
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException(reader.file + ":" + reader.lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static int category(int vertices) {
+        for (int c = 0; c < CATEGORY_NAMES.length; c++) {
+            if (vertices >= CATEGORY_BOUNDS[c] && vertices < CATEGORY_BOUNDS[c + 1])
+                return c;
+        }
+        return -1;
+    }
+
+    private static ResultsSummary await(Future<ResultsSummary> part) throws IOException {
+        try {
+            return part.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while scanning results");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IllegalStateException("Scanning results failed", e.getCause());
+        }
+    }
+
+    /**
+     * Splits lines at '\n' (dropping a trailing '\r') and fields at ',' inside
+     * one growable byte buffer. Quoted fields are not supported; the results
+     * files never quote.
+     */
+    private static final class RowReader {
+        final Path file;
+        private final InputStream in;
+        private byte[] buf = new byte[1 << 16];
+        private int pos, limit, scanned;
+        private boolean eof;
+        private int[] start = new int[32], end = new int[32];
+        private String[] header;
+        int fields;
+        long lineNumber;
+
+        RowReader(Path file, InputStream in) {
+            this.file = file;
+            this.in = in;
+        }
+
+        /** Advances to the next line; false at end of input. */
+        boolean nextLine() throws IOException {
+            while (true) {
+                for (int i = Math.max(pos, scanned); i < limit; i++) {
+                    if (buf[i] == '\n') {
+                        split(pos, i);
+                        pos = i + 1;
+                        return true;
+                    }
+                }
+                scanned = limit;
+                if (eof) {
+                    if (pos == limit)
+                        return false;
+                    split(pos, limit);
+                    pos = limit;
+                    return true;
+                }
+                fill();
+            }
+        }
+
+        /** Index of the header column with the given name, or -1. */
+        int column(String name) {
+            if (header == null) {
+                header = new String[fields];
+                for (int f = 0; f < fields; f++)
+                    header[f] = text(f).trim();
+            }
+            return Arrays.asList(header).indexOf(name);
+        }
+
+        boolean blank() {
+            return fields == 1 && start[0] == end[0];
+        }
+
+        String text(int field) {
+            return new String(buf, start[field], end[field] - start[field], StandardCharsets.UTF_8);
+        }
+
+        /** "true" in any case, like Boolean.parseBoolean. */
+        boolean isTrue(int field) {
+            int s = start[field];
+            // Setting bit 0x20 lower-cases ASCII letters
+            return end[field] - s == 4 && (buf[s] | 0x20) == 't' && (buf[s + 1] | 0x20) == 'r'
+                    && (buf[s + 2] | 0x20) == 'u' && (buf[s + 3] | 0x20) == 'e';
+        }
+
+        long longAt(int field) {
+            int s = start[field], e = end[field];
+            boolean negative = s < e && buf[s] == '-';
+            int i = negative ? s + 1 : s;
+            if (i == e || e - i > 18)
+                return Long.parseLong(text(field));
+            long value = 0;
+            for (; i < e; i++) {
+                int d = buf[i] - '0';
+                if (d < 0 || d > 9)
+                    return Long.parseLong(text(field));
+                value = value * 10 + d;
+            }
+            return negative ? -value : value;
+        }
+
+        /**
+         * Plain decimals such as "12.345" with at most 15 digits are read as
+         * digits / 10^fraction, which is exact in both operands and therefore
+         * rounds the same way as Double.parseDouble; anything else (exponents,
+         * NaN, long mantissas) goes through Double.parseDouble.
+         */
+        double doubleAt(int field) {
+            int s = start[field], e = end[field];
+            boolean negative = s < e && buf[s] == '-';
+            int i = negative ? s + 1 : s;
+            long digits = 0;
+            int count = 0, fraction = -1;
+            for (; i < e; i++) {
+                byte b = buf[i];
+                if (b == '.' && fraction < 0) {
+                    fraction = 0;
+                    continue;
+                }
+                int d = b - '0';
+                if (d < 0 || d > 9 || ++count > 15)
+                    return Double.parseDouble(text(field));
+                digits = digits * 10 + d;
+                if (fraction >= 0)
+                    fraction++;
+            }
+            if (count == 0)
+                return Double.parseDouble(text(field));
+            double value = fraction > 0 ? digits / POWERS_OF_TEN[fraction] : digits;
+            return negative ? -value : value;
+        }
+
+        private void split(int from, int to) {
+            lineNumber++;
+            if (to > from && buf[to - 1] == '\r')
+                to--;
+            fields = 0;
+            int s = from;
+            for (int i = from; i <= to; i++) {
+                if (i == to || buf[i] == ',') {
+                    if (fields == start.length) {
+                        start = Arrays.copyOf(start, 2 * fields);
+                        end = Arrays.copyOf(end, 2 * fields);
+                    }
+                    start[fields] = s;
+                    end[fields++] = i;
+                    s = i + 1;
+                }
+            }
+        }
+
+        /** Moves the unread line to the front, grows the buffer if it is full, and reads more. */
+        private void fill() throws IOException {
+            if (pos > 0) {
+                System.arraycopy(buf, pos, buf, 0, limit - pos);
+                limit -= pos;
+                scanned -= pos;
+                pos = 0;
+            }
+            if (limit == buf.length)
+                buf = Arrays.copyOf(buf, 2 * buf.length);
+            int n = in.read(buf, limit, buf.length - limit);
+            if (n < 0)
+                eof = true;
+            else
+                limit += n;
+        }
+    }
+}
@@ -3,13 +3,69 @@ package tests;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import algorithms.BoruvkaMST;
+import algorithms.ConcurrentUnionFind;
+import algorithms.Connectivity;
+import algorithms.DensePrimMST;
+import algorithms.EdgeSort;
+import algorithms.ExternalKruskalMST;
+import algorithms.FilterKruskalMST;
+import algorithms.IntUnionFind;
 import algorithms.KruskalMST;
+import algorithms.MinScan;
+import algorithms.ParallelKruskalMST;
 import algorithms.PrimMST;
+import algorithms.batch.BatchRunner;
+import algorithms.cache.ResultCache;
+import algorithms.heap.HeapType;
+import algorithms.io.BinaryGraphWriter;
+import algorithms.io.GraphJsonReader;
+import algorithms.io.GraphSource;
+import algorithms.io.MappedGraphFile;
+import algorithms.io.ResultJsonWriter;
+import algorithms.metrics.CountingMetrics;
+import algorithms.metrics.MetricsSink;
+import algorithms.metrics.Op;
+import algorithms.metrics.ResourceUsage;
 import algorithms.models.AlgorithmResult;
+import algorithms.models.CompactGraph;
+import algorithms.models.CsrAdjacency;
 import algorithms.models.Edge;
 import algorithms.models.Graph;
-
+import algorithms.models.MSTResult;
+
+import generator.DatasetGenerator;
+import generator.GraphFamily;
+import generator.GraphSpec;
+import generator.LogLogFit;
+import generator.ScalingSweep;
+import generator.SyntheticGraphs;
+import main.QuantileSketch;
+import main.ResultsSummary;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 /**
  * Comprehensive JUnit test suite for MST algorithms
@@ -349,12 +405,13 @@ public class MSTAlgorithmsTest {
         AlgorithmResult prim = PrimMST.run(graph);
         AlgorithmResult kruskal = KruskalMST.run(graph);
 
-        // MST of disconnected graph should only include edges from
-        // the component containing the start vertex
-        assertTrue(prim.mstEdges.size() < nodes.size() - 1,
-                "Disconnected graph: Prim's MST incomplete");
-        assertTrue(kruskal.mstEdges.size() < nodes.size() - 1,
-                "Disconnected graph: Kruskal's MST incomplete");
+        // Both engines return the spanning forest: one tree per component
+        assertEquals(2, prim.mstEdges.size(), "Disconnected graph: Prim spans both components");
+        assertEquals(2, kruskal.mstEdges.size(), "Disconnected graph: Kruskal spans both components");
+        assertFalse(prim.isSpanningTree());
+        assertEquals(2, prim.components.size());
+        assertEquals(2, kruskal.components.size());
+        assertEquals(3.0, prim.totalCost, EPSILON);
     }
 
     // ========================================
@@ -403,10 +460,907 @@ public class MSTAlgorithmsTest {
         assertTrue(kruskalTime < 1000, "Kruskal should complete in < 1 second");
     }
 
+    // ========================================
+    // GRAPH REPRESENTATION TESTS
+    // ========================================
+
+    @Test
+    @Order(17)
+    @DisplayName("Test 17: String Adjacency View Matches Compact Graph")
+    public void testAdjacencyViewMatchesCompactGraph() {
+        List<String> nodes = Arrays.asList("A", "B", "C", "D");
+        List<Edge> edges = Arrays.asList(
+                new Edge("A", "B", 1.0),
+                new Edge("B", "C", 2.0),
+                new Edge("A", "C", 3.0));
+        Graph graph = new Graph(17, nodes, edges);
+
+        assertEquals(4, graph.compact().vertexCount());
+        assertEquals(3, graph.compact().edgeCount());
+        assertEquals(Arrays.asList(edges.get(0), edges.get(2)), graph.adj.get("A"),
+                "Adjacency view must list incident edges in input order");
+        assertEquals(0, graph.adj.get("D").size(), "Isolated vertex has no edges");
+        assertFalse(KruskalMST.run(graph).isSpanningTree(), "D is not reachable");
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("Test 18: Int Union-Find Handles Long Chains")
+    public void testIntUnionFindLongChain() {
+        int n = 200_000;
+        CountingMetrics metrics = new CountingMetrics();
+        IntUnionFind uf = new IntUnionFind(n, metrics);
+        for (int i = 1; i < n; i++) {
+            assertTrue(uf.union(i - 1, i), "Chain link must merge two sets");
+        }
+
+        assertFalse(uf.union(0, n - 1), "Endpoints are already connected");
+        assertEquals(1, uf.componentCount());
+        assertEquals(n, uf.sizeOf(n / 2));
+        assertTrue(metrics.count(Op.FIND) > 0 && metrics.count(Op.UNION) == n,
+                "Operation counters must be populated");
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("Test 19: All Prim Heap Types Agree With Kruskal")
+    public void testPrimHeapTypesAgree() {
+        Graph graph = randomGraph(19, 200, 2000, new Random(7));
+        AlgorithmResult kruskal = KruskalMST.run(graph);
+
+        for (HeapType heapType : HeapType.values()) {
+            AlgorithmResult prim = PrimMST.run(graph, heapType);
+            assertEquals(kruskal.totalCost, prim.totalCost, EPSILON,
+                    heapType + ": cost must match Kruskal");
+            assertEquals(199, prim.mstEdges.size(), heapType + ": MST has V-1 edges");
+            assertTrue(prim.engine.contains(heapType.label),
+                    "Heap choice must be recorded in the result");
+        }
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("Test 20: Dense Prim Matches Heap Prim")
+    public void testDensePrimMatchesHeapPrim() {
+        Graph graph = randomGraph(20, 120, 4000, new Random(11));
+        AlgorithmResult heap = PrimMST.run(graph, HeapType.BINARY);
+        AlgorithmResult dense = DensePrimMST.run(graph);
+
+        assertEquals(heap.totalCost, dense.totalCost, EPSILON,
+                "Dense Prim: cost must match heap Prim");
+        assertEquals(119, dense.mstEdges.size(), "Dense Prim: MST has V-1 edges");
+        assertEquals(MinScan.scalarArgMin(new double[] { 3, 1, 2, 1 }, 4),
+                MinScan.argMin(new double[] { 3, 1, 2, 1 }, 4),
+                "SIMD and scalar scans must pick the same index");
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("Test 21: Boruvka Selects Kruskal's Tree")
+    public void testBoruvkaMatchesKruskal() {
+        // Few distinct weights, so tie-breaking decides the tree
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            nodes.add("V" + i);
+        }
+        List<Edge> edges = new ArrayList<>();
+        Random rand = new Random(21);
+        for (int i = 1; i < 300; i++) {
+            edges.add(new Edge("V" + rand.nextInt(i), "V" + i, rand.nextInt(3) + 1));
+        }
+        for (int k = 0; k < 30_000; k++) {
+            edges.add(new Edge("V" + rand.nextInt(300), "V" + rand.nextInt(300), rand.nextInt(3) + 1));
+        }
+        Graph graph = new Graph(21, nodes, edges);
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            AlgorithmResult boruvka = BoruvkaMST.run(graph, pool);
+            AlgorithmResult kruskal = KruskalMST.run(graph);
+
+            assertEquals(kruskal.totalCost, boruvka.totalCost, EPSILON,
+                    "Boruvka: cost must match Kruskal");
+            assertEquals(new HashSet<>(kruskal.mstEdges), new HashSet<>(boruvka.mstEdges),
+                    "Boruvka: deterministic tie-breaking selects the same edges");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @Order(22)
+    @DisplayName("Test 22: Filter-Kruskal Selects Kruskal's Tree")
+    public void testFilterKruskalMatchesKruskal() {
+        Graph graph = randomGraph(22, 500, 20_000, new Random(22));
+        AlgorithmResult filter = FilterKruskalMST.run(graph);
+        AlgorithmResult kruskal = KruskalMST.run(graph);
+
+        assertEquals(kruskal.totalCost, filter.totalCost, EPSILON,
+                "Filter-Kruskal: cost must match Kruskal");
+        assertEquals(new HashSet<>(kruskal.mstEdges), new HashSet<>(filter.mstEdges),
+                "Filter-Kruskal: same edges as Kruskal");
+        assertEquals(499, filter.mstEdges.size(), "Filter-Kruskal: MST has V-1 edges");
+    }
+
+    @Test
+    @Order(23)
+    @DisplayName("Test 23: Edge Sort Orders By Weight Then Id")
+    public void testEdgeSortOrder() {
+        List<String> nodes = Arrays.asList("A", "B", "C");
+        List<Edge> integral = Arrays.asList(
+                new Edge("A", "B", 3.0),
+                new Edge("B", "C", 1.0),
+                new Edge("A", "C", 3.0),
+                new Edge("A", "A", 2.0));
+        List<Edge> fractional = Arrays.asList(
+                new Edge("A", "B", 0.5),
+                new Edge("B", "C", -1.25),
+                new Edge("A", "C", 0.5),
+                new Edge("A", "A", 1e12));
+
+        EdgeSort.Sorted counting = EdgeSort.sort(new Graph(23, nodes, integral).compact());
+        EdgeSort.Sorted ranked = EdgeSort.sort(new Graph(23, nodes, fractional).compact());
+
+        assertArrayEquals(new int[] { 1, 3, 0, 2 }, counting.order);
+        assertEquals("counting-sort", counting.method);
+        assertArrayEquals(new int[] { 1, 0, 2, 3 }, ranked.order);
+        assertEquals("rank-parallel-sort", ranked.method);
+    }
+
+    @Test
+    @Order(24)
+    @DisplayName("Test 24: Streaming JSON Reader Yields One Graph At A Time")
+    public void testGraphJsonReader() throws IOException {
+        String json = "{\"graphs\": ["
+                + "{\"id\": 1, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+                + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 2},"
+                + "{\"weight\": 1.5, \"to\": \"C\", \"from\": \"B\"},"
+                + "{\"from\": \"A\", \"to\": \"C\", \"weight\": 4}]},"
+                + "{\"id\": 2, \"nodes\": [\"X\"], \"edges\": []}"
+                + "], \"meta\": {\"ignored\": true}}";
+
+        List<Graph> graphs = new ArrayList<>();
+        try (GraphJsonReader reader = new GraphJsonReader(new StringReader(json))) {
+            while (reader.hasNext()) {
+                graphs.add(reader.next());
+            }
+        }
+
+        assertEquals(2, graphs.size());
+        Graph first = graphs.get(0);
+        assertEquals(1, first.id);
+        assertEquals(Arrays.asList("A", "B", "C"), first.nodes);
+        assertEquals(new Edge("B", "C", 1.5), first.edges.get(1));
+        assertEquals(3.5, KruskalMST.run(first).totalCost, EPSILON);
+        assertEquals(1, graphs.get(1).compact().vertexCount());
+
+        // Unknown endpoints and duplicate names fail in both construction paths
+        String unknown = "{\"graphs\": [{\"id\": 1, \"nodes\": [\"A\"], \"edges\": ["
+                + "{\"from\": \"A\", \"to\": \"Z\", \"weight\": 1}]}]}";
+        String duplicate = "{\"graphs\": [{\"id\": 1, \"nodes\": [\"A\", \"A\"], \"edges\": []}]}";
+        for (String bad : Arrays.asList(unknown, duplicate)) {
+            try (GraphJsonReader reader = new GraphJsonReader(new StringReader(bad))) {
+                assertThrows(UncheckedIOException.class, reader::next);
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> CompactGraph.of(Arrays.asList("A"), Arrays.asList(new Edge("A", "Z", 1))));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompactGraph.of(Arrays.asList("A", "A"), new ArrayList<>()));
+        CompactGraph.Builder ids = new CompactGraph.Builder();
+        ids.addVertex("A");
+        ids.addVertex("B");
+        assertThrows(IllegalArgumentException.class, () -> ids.addEdge(0, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> ids.addEdge(-1, 1, 1));
+        assertEquals(0, ids.addEdge(0, 1, 1));
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("Test 25: Parallel Batch Keeps Input Order")
+    public void testBatchRunnerKeepsInputOrder() {
+        List<Graph> graphs = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            // Sizes deliberately not sorted, so largest-first differs from input order
+            graphs.add(randomGraph(i, 20 + (i * 37) % 150, (i * 53) % 400, new Random(i)));
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        BatchRunner.run(graphs.iterator(), g -> g.id, ids::add,
+                new BatchRunner.Options(BatchRunner.Mode.FIXED, 4));
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, ids, "Results must be emitted in input order");
+
+        // Contained failures skip the failing graph and still emit the rest in order
+        for (BatchRunner.Mode mode : new BatchRunner.Mode[] { BatchRunner.Mode.SEQUENTIAL,
+                BatchRunner.Mode.FIXED, BatchRunner.Mode.ISOLATED }) {
+            List<Integer> emitted = new ArrayList<>();
+            List<Integer> failed = new ArrayList<>();
+            BatchRunner.run(graphs.iterator(), (Graph g) -> {
+                if (g.id == 5)
+                    throw new IllegalStateException("boom");
+                return g.id;
+            }, emitted::add, (id, error) -> failed.add(id),
+                    new BatchRunner.Options(mode, 4, true));
+            List<Integer> rest = new ArrayList<>(expected);
+            rest.remove(Integer.valueOf(5));
+            assertEquals(rest, emitted);
+            assertEquals(Arrays.asList(5), failed);
+        }
+        assertThrows(IllegalStateException.class, () -> BatchRunner.<Integer>run(graphs.iterator(), g -> {
+            throw new IllegalStateException("boom");
+        }, ids::add, new BatchRunner.Options(BatchRunner.Mode.FIXED, 4)));
+
+        // Timing isolation pins the pool to one thread per core
+        int cores = Runtime.getRuntime().availableProcessors();
+        assertEquals(cores, new BatchRunner.Options(BatchRunner.Mode.ISOLATED, 64).threads);
+
+        // Graphs are read lazily: at most twice the pool size between read and emit
+        int[] read = new int[1];
+        int[] maxHeld = new int[1];
+        List<Integer> streamed = new ArrayList<>();
+        Iterator<Graph> source = graphs.iterator();
+        Iterator<Graph> counting = new Iterator<>() {
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            public Graph next() {
+                read[0]++;
+                maxHeld[0] = Math.max(maxHeld[0], read[0] - streamed.size());
+                return source.next();
+            }
+        };
+        BatchRunner.run(counting, g -> g.id, streamed::add, new BatchRunner.Options(BatchRunner.Mode.FIXED, 2));
+        assertEquals(expected, streamed);
+        assertTrue(maxHeld[0] <= 4, "Graphs held at once: " + maxHeld[0]);
+    }
+
+    @Test
+    @Order(26)
+    @DisplayName("Test 26: Binary Container Round Trip")
+    public void testBinaryContainerRoundTrip() throws IOException {
+        Graph first = randomGraph(7, 60, 300, new Random(26));
+        Graph second = randomGraph(9, 40, 100, new Random(27));
+        Path file = Files.createTempFile("graphs", MappedGraphFile.EXTENSION);
+        try {
+            try (BinaryGraphWriter writer = new BinaryGraphWriter(file)) {
+                writer.write(first.id, first.compact(), true);
+                writer.write(second.id, second.compact(), false);
+            }
+
+            try (MappedGraphFile mapped = MappedGraphFile.open(file)) {
+                assertEquals(2, mapped.graphCount());
+
+                // Jump straight to the second graph; its adjacency is rebuilt on demand
+                Graph loaded = mapped.graphById(9);
+                assertEquals(second.nodes, loaded.nodes);
+                assertEquals(second.edges, loaded.edges);
+                assertEquals(PrimMST.run(second).totalCost, PrimMST.run(loaded).totalCost, EPSILON);
+
+                Graph withCsr = mapped.graphById(7);
+                assertEquals(second.adj.get("V3"), loaded.adj.get("V3"));
+                assertEquals(KruskalMST.run(first).totalCost, KruskalMST.run(withCsr).totalCost, EPSILON);
+                assertEquals(first.adj.get("V5"), withCsr.adj.get("V5"));
+            }
+
+            // Out-of-range data is rejected when the graph is mapped, not inside an engine
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer longs = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(longs, 16);
+                long index = longs.getLong(0);
+                channel.read(longs.clear(), index + 16 + 8);
+                long section = longs.getLong(0);
+                channel.read(longs.clear(), section + 16);
+                long names = section + longs.getLong(0);
+                channel.read(longs.clear(), section + 24);
+                long edges = section + longs.getLong(0);
+
+                ByteBuffer original = ByteBuffer.allocate(4);
+                for (long at : new long[] { edges, names + 4 }) {
+                    channel.read(original.clear(), at);
+                    channel.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, -5), at);
+                    try (MappedGraphFile mapped = MappedGraphFile.open(file)) {
+                        IOException e = assertThrows(IOException.class, () -> mapped.graphById(9));
+                        assertTrue(e.getMessage().startsWith("Corrupt container"), e.getMessage());
+                    }
+                    channel.write(original.flip(), at);
+                }
+            }
+
+            // A section header that points past the section is rejected, not mapped
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer edgeCount = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, 1_000_000);
+                channel.write(edgeCount, 24 + 4);
+            }
+            try (MappedGraphFile mapped = MappedGraphFile.open(file)) {
+                assertThrows(IOException.class, () -> mapped.graphById(7));
+                assertEquals(second.edges, mapped.graphById(9).edges);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 8);
+            }
+            assertThrows(IOException.class, () -> MappedGraphFile.open(file));
+
+            // A failed write leaves no container behind
+            Graph fractional = new Graph(1, Arrays.asList("A", "B"), Arrays.asList(new Edge("A", "B", 0.1)));
+            assertThrows(IllegalArgumentException.class, () -> {
+                try (BinaryGraphWriter writer = new BinaryGraphWriter(file)) {
+                    writer.write(second.id, second.compact(), false);
+                    writer.write(fractional.id, fractional.compact(), false);
+                }
+            });
+            assertFalse(Files.exists(file), "Failed container must be deleted on close");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @Order(27)
+    @DisplayName("Test 27: Streaming Result Writer")
+    public void testStreamingResultWriter() throws IOException {
+        Graph graph = randomGraph(3, 50, 150, new Random(28));
+        AlgorithmResult prim = PrimMST.run(graph);
+        AlgorithmResult kruskal = KruskalMST.run(graph);
+        MSTResult result = new MSTResult(graph.id, new MSTResult.InputStats(
+                graph.nodes.size(), graph.edges.size()), prim, kruskal);
+
+        StringWriter out = new StringWriter();
+        try (ResultJsonWriter writer = new ResultJsonWriter(out, ResultJsonWriter.Detail.INDICES, false)) {
+            writer.write(result);
+            writer.write(result);
+        }
+        assertFalse(out.toString().contains("\n"), "Compact output has no line breaks");
+
+        JsonArray results = JsonParser.parseString(out.toString()).getAsJsonObject().getAsJsonArray("results");
+        assertEquals(2, results.size());
+        JsonObject written = results.get(0).getAsJsonObject().getAsJsonObject("kruskal");
+        assertFalse(written.has("mstEdges"), "Index mode writes no edge objects");
+
+        // Edge ids map back to the edges the engine selected
+        JsonArray ids = written.getAsJsonArray("mstEdgeIds");
+        assertEquals(kruskal.mstEdges.size(), ids.size());
+        for (int i = 0; i < ids.size(); i++)
+            assertEquals(kruskal.mstEdges.get(i), graph.edges.get(ids.get(i).getAsInt()));
+        assertEquals(kruskal.totalCost, written.get("totalCost").getAsDouble(), EPSILON);
+
+        StringWriter summary = new StringWriter();
+        try (ResultJsonWriter writer = new ResultJsonWriter(summary, ResultJsonWriter.Detail.SUMMARY, false)) {
+            writer.write(result);
+        }
+        JsonObject primSummary = JsonParser.parseString(summary.toString()).getAsJsonObject()
+                .getAsJsonArray("results").get(0).getAsJsonObject().getAsJsonObject("prim");
+        assertFalse(primSummary.has("mstEdges") || primSummary.has("mstEdgeIds"));
+        assertEquals(prim.operationCount, primSummary.get("operationCount").getAsLong());
+
+        StringWriter full = new StringWriter();
+        try (ResultJsonWriter writer = new ResultJsonWriter(full, ResultJsonWriter.Detail.FULL, false)) {
+            writer.write(result);
+        }
+        JsonArray fullEdges = JsonParser.parseString(full.toString()).getAsJsonObject()
+                .getAsJsonArray("results").get(0).getAsJsonObject().getAsJsonObject("prim")
+                .getAsJsonArray("mstEdges");
+        assertEquals(prim.mstEdges.size(), fullEdges.size());
+        for (int i = 0; i < fullEdges.size(); i++) {
+            JsonObject e = fullEdges.get(i).getAsJsonObject();
+            assertEquals(prim.mstEdges.get(i), new Edge(e.get("from").getAsString(), e.get("to").getAsString(),
+                    e.get("weight").getAsDouble()));
+        }
+        assertSame(prim.mstEdges.get(0), prim.mstEdges.get(0), "Edges are created once");
+    }
+
+    @Test
+    @Order(29)
+    @DisplayName("Test 29: Engines Report Through Metrics Sinks")
+    public void testMetricsSinks() {
+        Graph graph = randomGraph(29, 100, 300, new Random(30));
+        int v = graph.nodes.size(), e = graph.edges.size();
+
+        AlgorithmResult prim = PrimMST.run(graph, HeapType.BINARY);
+        assertEquals(v, prim.metrics.count(Op.HEAP_POP), "One extract-min per vertex");
+        assertEquals(2L * e, prim.metrics.count(Op.EDGE_SCAN), "Each edge is scanned from both ends");
+        assertEquals(0, prim.metrics.count(Op.FIND));
+
+        AlgorithmResult kruskal = KruskalMST.run(graph);
+        assertTrue(kruskal.metrics.count(Op.COMPARE) > 0 && kruskal.metrics.count(Op.FIND) > 0);
+        assertEquals(0, kruskal.metrics.count(Op.HEAP_PUSH));
+
+        for (AlgorithmResult r : List.of(prim, kruskal, BoruvkaMST.run(graph), FilterKruskalMST.run(graph)))
+            assertEquals(r.metrics.total(), r.operationCount, r.engine);
+
+        MetricsSink.NONE.add(Op.COMPARE, 5);
+        assertEquals(0, MetricsSink.NONE.total(), "The no-op sink records nothing");
+    }
+
+    @Test
+    @Order(30)
+    @DisplayName("Test 30: Result Cache Is Keyed By Graph Content")
+    public void testResultCache() throws IOException {
+        Graph graph = randomGraph(30, 80, 200, new Random(31));
+        // Same content with edges reversed in order and direction
+        List<Edge> shuffled = new ArrayList<>();
+        for (int i = graph.edges.size() - 1; i >= 0; i--) {
+            Edge e = graph.edges.get(i);
+            shuffled.add(new Edge(e.to, e.from, e.weight));
+        }
+        Graph reordered = new Graph(31, graph.nodes, shuffled);
+
+        Path dir = Files.createTempDirectory("mst-cache");
+        try {
+            ResultCache cache = ResultCache.open(dir, 1 << 20);
+            ResultCache.GraphKey key = cache.key(graph);
+            ResultCache.GraphKey sameKey = cache.key(reordered);
+            assertNotEquals(key.fingerprint, sameKey.fingerprint, "Fingerprint follows input order");
+            assertEquals(key.hash(), sameKey.hash(), "Hash ignores edge order and direction");
+
+            AlgorithmResult computed = cache.get(key, "kruskal", AlgorithmResult.measured(KruskalMST::run));
+            AlgorithmResult cached = cache.get(sameKey, "kruskal", g -> fail("Expected a cache hit"));
+            assertEquals(1, cache.hits());
+            assertEquals(1, cache.misses());
+            assertEquals(computed.totalCost, cached.totalCost, EPSILON);
+            assertSame(ResourceUsage.NONE, cached.resources, "Hits were not measured");
+            double sum = 0;
+            for (int e : cached.mstEdgeIds)
+                sum += reordered.edges.get(e).weight;
+            assertEquals(computed.totalCost, sum, EPSILON, "Edge ids refer to the looked-up graph");
+            // Canonical and input-order entries, plus the reordered graph's alias
+            assertEquals(3, countFiles(dir));
+            cache.get(key, "prim", KruskalMST::run);
+            assertEquals(3, countFiles(dir), "A result of another engine is not stored");
+
+            // A fresh instance sees the stored entry; a tiny limit evicts it
+            ResultCache reopened = ResultCache.open(dir, 1 << 20);
+            reopened.get(key, "kruskal", g -> fail("Entry must survive a restart"));
+            assertEquals(1, reopened.hits());
+            ResultCache tiny = ResultCache.open(dir, 1);
+            tiny.get(key, "kruskal", KruskalMST::run);
+            assertEquals(0, tiny.hits());
+
+            // A cache whose directory disappears still returns results
+            ResultCache orphaned = ResultCache.open(dir.resolve("gone"), 1 << 20);
+            Files.delete(dir.resolve("gone"));
+            AlgorithmResult unstored = orphaned.get(orphaned.key(graph), "kruskal", KruskalMST::run);
+            assertEquals(computed.totalCost, unstored.totalCost, EPSILON);
+
+            ResultCache bypass = ResultCache.disabled();
+            bypass.get(bypass.key(graph), "kruskal", KruskalMST::run);
+            assertEquals(0, bypass.hits() + bypass.misses(), "Bypass does not count lookups");
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    @Order(31)
+    @DisplayName("Test 31: External Kruskal Matches In-Memory Kruskal")
+    public void testExternalKruskal() throws IOException {
+        Graph graph = randomGraph(31, 150, 600, new Random(32));
+        AlgorithmResult kruskal = KruskalMST.run(graph);
+
+        Path spillDir = Files.createTempDirectory("mst-spill");
+        try {
+            // 16 records per run, so the edge list is spilled in many runs
+            ExternalKruskalMST.Result spilled = ExternalKruskalMST.run(graph,
+                    new ExternalKruskalMST.Options(16 * 20, spillDir));
+            assertTrue(spilled.runs > 1, "Small budget must spill several runs");
+            assertEquals(20L * graph.edges.size(), spilled.bytesSpilled);
+            assertEquals(new HashSet<>(kruskal.mstEdges), new HashSet<>(spilled.mstEdges));
+            assertEquals(kruskal.totalCost, spilled.totalCost, EPSILON);
+            assertEquals(0, countFiles(spillDir), "Spill files are removed after the run");
+
+            ExternalKruskalMST.Result inMemory = ExternalKruskalMST.run(graph,
+                    new ExternalKruskalMST.Options(1 << 20, spillDir));
+            assertEquals(0, inMemory.bytesSpilled);
+            assertEquals(new HashSet<>(kruskal.mstEdges), new HashSet<>(inMemory.mstEdges));
+        } finally {
+            Files.delete(spillDir);
+        }
+    }
+
+    @Test
+    @Order(32)
+    @DisplayName("Test 32: Engines Report Per-Component Forests")
+    public void testSpanningForestComponents() {
+        // Three random components plus an isolated vertex, with names interleaved
+        Random rand = new Random(33);
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 61; i++)
+            nodes.add("V" + i);
+        List<Edge> edges = new ArrayList<>();
+        for (int c = 0; c < 3; c++) {
+            for (int i = c + 3; i < 60; i += 3) {
+                edges.add(new Edge("V" + (i - 3), "V" + i, rand.nextInt(50) + 1));
+                int j = c + 3 * rand.nextInt(20);
+                if (j != i)
+                    edges.add(new Edge("V" + j, "V" + i, rand.nextInt(50) + 1));
+            }
+        }
+        Graph graph = new Graph(32, nodes, edges);
+
+        AlgorithmResult kruskal = KruskalMST.run(graph);
+        for (AlgorithmResult r : List.of(kruskal, PrimMST.run(graph, HeapType.PAIRING), DensePrimMST.run(graph),
+                BoruvkaMST.run(graph), FilterKruskalMST.run(graph))) {
+            assertEquals(4, r.components.size(), r.engine);
+            assertEquals(kruskal.totalCost, r.totalCost, EPSILON, r.engine);
+            assertEquals(20, r.components.get(0).vertexCount, r.engine);
+            assertEquals(19, r.components.get(1).edgeCount, r.engine);
+            assertEquals(1, r.components.get(3).vertexCount, "Isolated vertex is its own component");
+            assertEquals(0, r.components.get(3).edgeCount);
+            double sum = 0;
+            for (AlgorithmResult.Component c : r.components)
+                sum += c.cost;
+            assertEquals(r.totalCost, sum, EPSILON, r.engine);
+        }
+    }
+
+    @Test
+    @Order(33)
+    @DisplayName("Test 33: Off-Heap Graph Matches Heap Graph Until Closed")
+    public void testOffHeapGraph() {
+        if (!CompactGraph.offHeapAvailable()) {
+            // Started without incubator-src/ or --add-modules jdk.incubator.foreign
+            assertThrows(UnsupportedOperationException.class, CompactGraph.Builder::offHeap);
+            return;
+        }
+        CompactGraph.Builder heapBuilder = new CompactGraph.Builder();
+        CompactGraph.Builder offHeapBuilder = CompactGraph.Builder.offHeap();
+        for (CompactGraph.Builder builder : List.of(heapBuilder, offHeapBuilder)) {
+            // Same seed for both; enough edges to grow the native segments twice
+            Random rand = new Random(34);
+            for (int v = 0; v < 200; v++)
+                builder.addVertex("V" + v);
+            for (int v = 1; v < 200; v++)
+                builder.addEdge(rand.nextInt(v), v, rand.nextInt(100) + 1);
+            for (int i = 0; i < 3000; i++)
+                builder.addEdge(rand.nextInt(200), rand.nextInt(200), rand.nextInt(100) + 1);
+        }
+
+        Graph heap = new Graph(33, heapBuilder.build());
+        Graph offHeap = new Graph(33, offHeapBuilder.build());
+        assertThrows(IllegalStateException.class, offHeapBuilder::build, "Native edges belong to the graph now");
+        CompactGraph g = offHeap.compact();
+        for (int e = 0; e < g.edgeCount(); e++)
+            assertEquals(heap.compact().weight(e), g.weight(e));
+        assertEquals(heap.compact().edgeCount(), g.edgeCount());
+        for (int v = 0; v < 200; v++)
+            assertEquals(heap.compact().degree(v), g.degree(v));
+
+        // Same storage contents, so every engine selects the same edge ids
+        List<Function<Graph, AlgorithmResult>> engines = List.of(KruskalMST::run, PrimMST::run, BoruvkaMST::run);
+        for (Function<Graph, AlgorithmResult> engine : engines) {
+            AlgorithmResult expected = engine.apply(heap);
+            AlgorithmResult r = engine.apply(offHeap);
+            assertEquals(expected.totalCost, r.totalCost, EPSILON, r.engine);
+            assertArrayEquals(expected.mstEdgeIds, r.mstEdgeIds, r.engine);
+        }
+        AlgorithmResult result = KruskalMST.run(offHeap);
+
+        offHeap.close();
+        assertEquals(199, result.mstEdges.size(), "Results outlive the graph");
+        assertThrows(IllegalStateException.class, () -> g.weight(0));
+        offHeap.close();
+    }
+
+    @Test
+    @Order(34)
+    @DisplayName("Test 34: Parallel CSR Build and Connectivity Match Serial")
+    public void testParallelBuildAndConnectivity() {
+        Random rand = new Random(35);
+        CompactGraph.Builder builder = new CompactGraph.Builder();
+        for (int v = 0; v < 20000; v++)
+            builder.addVertex("V" + v);
+        for (int v = 1; v < 20000; v++)
+            builder.addEdge(rand.nextInt(v), v, rand.nextInt(100) + 1);
+        for (int i = 0; i < 60000; i++)
+            builder.addEdge(rand.nextInt(20000), rand.nextInt(20000), rand.nextInt(100) + 1);
+        // A hub whose edges span every part's edge range
+        for (int i = 0; i < 500; i++)
+            builder.addEdge(0, rand.nextInt(20000), rand.nextInt(100) + 1);
+        CompactGraph g = builder.build();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CsrAdjacency serial = CsrAdjacency.buildSerial(g);
+            CsrAdjacency parallel = CsrAdjacency.build(g, pool);
+            assertArrayEquals(serial.offset, parallel.offset);
+            assertArrayEquals(serial.target, parallel.target);
+            assertArrayEquals(serial.edgeIndex, parallel.edgeIndex);
+
+            assertTrue(Connectivity.isConnected(g));
+            assertTrue(Connectivity.isConnected(g, pool));
+
+            // One vertex nobody links to
+            builder.addVertex("Isolated");
+            CompactGraph split = builder.build();
+            assertFalse(Connectivity.isConnected(split));
+            assertFalse(Connectivity.isConnected(split, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @Order(35)
+    @DisplayName("Test 35: Concurrent Union-Find and Parallel Kruskal")
+    public void testParallelKruskal() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // Four threads union overlapping chains; the result is one set
+            ConcurrentUnionFind uf = new ConcurrentUnionFind(10000);
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                workers.add(() -> {
+                    for (int i = offset; i + 1 < 10000; i += 2)
+                        uf.union(i, i + 1);
+                    return null;
+                });
+            }
+            for (Future<Void> f : pool.invokeAll(workers))
+                f.get();
+            assertEquals(1, uf.componentCount());
+            assertTrue(uf.connected(0, 9999));
+            assertEquals(uf.find(0), uf.find(5000));
+
+            // Heavy ties, several chunks, and a disconnected graph
+            for (int seed = 0; seed < 3; seed++) {
+                Random rand = new Random(36 + seed);
+                CompactGraph.Builder builder = new CompactGraph.Builder();
+                for (int v = 0; v < 5000; v++)
+                    builder.addVertex("V" + v);
+                for (int i = 0; i < 60000; i++)
+                    builder.addEdge(rand.nextInt(seed == 2 ? 4000 : 5000), rand.nextInt(5000), rand.nextInt(10) + 1);
+                Graph graph = new Graph(35, builder.build());
+
+                AlgorithmResult expected = KruskalMST.run(graph);
+                AlgorithmResult parallel = ParallelKruskalMST.run(graph, pool);
+                assertArrayEquals(expected.mstEdgeIds, parallel.mstEdgeIds, "seed " + seed);
+                assertEquals(expected.totalCost, parallel.totalCost, EPSILON);
+                assertEquals(expected.components.size(), parallel.components.size());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @Order(36)
+    @DisplayName("Test 36: Synthetic Generator Families, Connectivity and Output Formats")
+    public void testSyntheticGenerator() throws IOException {
+        for (GraphFamily family : GraphFamily.values()) {
+            GraphSpec spec = GraphSpec.parse("id=7,family=" + family + ",vertices=400,edges=700,connected=true");
+            Graph graph = new SyntheticGraphs(spec).toGraph();
+            assertTrue(Connectivity.isConnected(graph.compact()), family.name());
+            assertTrue(KruskalMST.run(graph).isSpanningTree(), family.name());
+            if (family != GraphFamily.COMPLETE)
+                assertEquals(700, graph.compact().edgeCount(), 100, family + " edge count near target");
+
+            // Same seed, same graph
+            Graph again = new SyntheticGraphs(spec).toGraph();
+            assertEquals(graph.compact().edgeCount(), again.compact().edgeCount());
+            for (int e = 0; e < graph.compact().edgeCount(); e += 37) {
+                assertEquals(graph.compact().from(e), again.compact().from(e));
+                assertEquals(graph.compact().weight(e), again.compact().weight(e));
+            }
+        }
+        assertEquals(400 * 399 / 2, new SyntheticGraphs(GraphSpec.parse("family=complete,vertices=400"))
+                .toGraph().compact().edgeCount());
+
+        // Sparse G(n, p) leaves components unless connectivity is asked for
+        GraphSpec sparse = GraphSpec.parse("family=erdos_renyi,vertices=2000,edges=1000,seed=3");
+        assertFalse(Connectivity.isConnected(new SyntheticGraphs(sparse).toGraph().compact()));
+
+        List<GraphSpec> specs = List.of(
+                GraphSpec.parse("id=1,family=geometric,vertices=500,edges=2000,weights=uniform_real,connected=true"),
+                GraphSpec.parse("id=2,family=power_law,vertices=300,edges=900,weights=heavy_ties"),
+                GraphSpec.parse("id=3,family=grid,vertices=250,edges=400,connected=true"));
+        Path dir = Files.createTempDirectory("mst-generated");
+        try {
+            for (String name : List.of("data.json", "data" + MappedGraphFile.EXTENSION)) {
+                Path out = dir.resolve(name);
+                DatasetGenerator.generate(out, specs, 3);
+                try (GraphSource source = GraphSource.open(out.toString())) {
+                    for (GraphSpec spec : specs) {
+                        Graph read = source.next();
+                        Graph expected = new SyntheticGraphs(spec).toGraph();
+                        assertEquals(spec.id, read.id, name);
+                        assertEquals(expected.compact().edgeCount(), read.compact().edgeCount(), name);
+                        assertEquals(KruskalMST.run(expected).totalCost, KruskalMST.run(read).totalCost, EPSILON, name);
+                    }
+                    assertFalse(source.hasNext());
+                }
+            }
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    @Order(37)
+    @DisplayName("Test 37: Log-Log Fits and Crossover Interpolation")
+    public void testScalingFits() {
+        // y = 3 x^1.5 exactly, plus a point that cannot be logged
+        double[] x = { 10, 100, 1000, 10000, 0 };
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++)
+            y[i] = 3 * Math.pow(x[i], 1.5);
+        LogLogFit fit = LogLogFit.fit(x, y);
+        assertEquals(4, fit.points);
+        assertEquals(1.5, fit.slope, 1e-9);
+        assertEquals(3, fit.constant, 1e-6);
+        assertEquals(1, fit.r2, 1e-9);
+
+        // A grows linearly in density, B is flat: they meet where 0.5 + 10d = 2.5
+        double[] density = { 0.05, 0.1, 0.3, 0.6 };
+        double[] a = new double[4], b = new double[4];
+        for (int i = 0; i < 4; i++) {
+            a[i] = 0.5 + 10 * density[i];
+            b[i] = 2.5;
+        }
+        double[] cross = ScalingSweep.crossovers(density, a, b);
+        assertEquals(1, cross.length);
+        assertTrue(cross[0] > 0.1 && cross[0] < 0.3, "Between the samples around 0.2");
+        assertEquals(0, ScalingSweep.crossovers(density, b, new double[] { 9, 9, 9, 9 }).length);
+
+        assertEquals(3, ScalingSweep.Model.E_ALPHA_V.size(1000, 1), EPSILON);
+        assertEquals(1e6, ScalingSweep.Model.V_SQUARED.size(1000, 1), EPSILON);
+    }
+
+    @Test
+    @Order(38)
+    @DisplayName("Test 38: Quantile Sketch Accuracy and Streaming Results Summary")
+    public void testResultsSummary() throws IOException {
+        Random rand = new Random(38);
+        double[] values = new double[20000];
+        QuantileSketch whole = new QuantileSketch();
+        QuantileSketch left = new QuantileSketch(), right = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(rand.nextGaussian() * 3) - (i % 10 == 0 ? 50 : 0);
+            whole.add(values[i]);
+            (i < values.length / 3 ? left : right).add(values[i]);
+        }
+        left.merge(right);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : new double[] { 0, 0.05, 0.1, 0.5, 0.9, 0.99, 1 }) {
+            double exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            assertEquals(exact, whole.quantile(q), 0.01 * Math.abs(exact) + 1e-9, "q=" + q);
+            assertEquals(whole.quantile(q), left.quantile(q), 0.0, "merged q=" + q);
+        }
+        assertEquals(values.length, left.count());
+        assertTrue(Double.isNaN(new QuantileSketch().median()));
+
+        // Two files, columns in their own order, summarised apart and together
+        Path dir = Files.createTempDirectory("mst-results");
+        try {
+            Path a = dir.resolve("a.csv"), b = dir.resolve("b.csv");
+            Files.writeString(a, "Graph_ID,Vertices,Edges,Density,Prim_Cost,Prim_Edges,Prim_Operations,Prim_Time_ms,"
+                    + "Kruskal_Cost,Kruskal_Edges,Kruskal_Operations,Kruskal_Time_ms,"
+                    + "Cost_Match,Time_Difference_ms,Operation_Difference,Kruskal_Faster\n"
+                    + "1,10,20,0.44,15.00,9,100,0.500,15.00,9,300,0.250,TRUE,0.250,-200,True\n"
+                    + "2,600,900,0.01,70.50,599,5000,12.125,70.00,599,9000,3.000,false,9.125,-4000,true\r\n"
+                    + "\n");
+            Files.writeString(b, "Kruskal_Faster,Cost_Match,Kruskal_Time_ms,Prim_Time_ms,Kruskal_Operations,"
+                    + "Prim_Operations,Kruskal_Cost,Prim_Cost,Vertices,Graph_ID,Extra\n"
+                    + "false,true,2.5,1e0,40,60,3.0,3.0,100,3,x");
+
+            ResultsSummary merged = ResultsSummary.scan(List.of(a, b), 2);
+            assertEquals(3, merged.rows());
+            assertEquals(2, merged.matches());
+            assertEquals(1, merged.mismatches());
+            assertEquals(2, merged.kruskalWins());
+            assertEquals(5160, merged.primOperations());
+            assertEquals(9340, merged.kruskalOperations());
+            assertEquals(0.5 + 12.125 + 1, merged.primTimes().sum(), EPSILON);
+            assertEquals(0.25 + 3 + 2.5, merged.kruskalTimes().sum(), EPSILON);
+            assertEquals(1, merged.primTimes().median(), 0.01);
+
+            ResultsSummary serial = ResultsSummary.scan(a);
+            serial.merge(ResultsSummary.scan(b));
+            assertEquals(merged.rows(), serial.rows());
+            assertEquals(merged.kruskalTimes().quantile(0.9), serial.kruskalTimes().quantile(0.9), 0.0);
+
+            Files.writeString(b, "Graph_ID,Vertices\n1,10\n");
+            assertThrows(IOException.class, () -> ResultsSummary.scan(b));
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    @Order(39)
+    @DisplayName("Test 39: Per-Run Allocation and GC Accounting")
+    public void testResourceUsage() {
+        ResourceUsage start = ResourceUsage.current();
+        long[] block = new long[1 << 20];
+        ResourceUsage used = ResourceUsage.current().since(start);
+        assertEquals(1 << 20, block.length);
+        if (used.allocatedBytes >= 0)
+            assertTrue(used.allocatedBytes >= 8L << 20, "8 MiB array counted: " + used);
+        if (used.gcCount >= 0) {
+            // A full collection shows up in the JVM-wide count and time
+            ResourceUsage beforeGc = ResourceUsage.current();
+            System.gc();
+            ResourceUsage collected = ResourceUsage.current().since(beforeGc);
+            assertTrue(collected.gcCount >= 1, "System.gc() counted: " + collected);
+            assertTrue(collected.gcTimeMs >= 0, "GC time reported with the count: " + collected);
+        }
+        assertEquals(-1, used.since(ResourceUsage.NONE).allocatedBytes);
+
+        Graph graph = randomGraph(39, 300, 3000, new Random(39));
+        AlgorithmResult plain = PrimMST.run(graph);
+        assertSame(ResourceUsage.NONE, plain.resources);
+        AlgorithmResult measured = AlgorithmResult.measured(PrimMST::run).apply(graph);
+        assertEquals(plain.totalCost, measured.totalCost, EPSILON);
+        assertEquals(plain.operationCount, measured.operationCount);
+        if (measured.resources.allocatedBytes >= 0)
+            assertTrue(measured.resources.allocatedBytes > 0);
+    }
+
+    @Test
+    @Order(40)
+    @DisplayName("Test 40: JFR Phase Events Carry Graph, Size and Engine")
+    public void testPhaseEvents() throws IOException {
+        Graph graph = randomGraph(40, 200, 1500, new Random(40));
+        Path file = Files.createTempFile("mst-phases", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("mst.EdgeSort", "mst.UnionFindPass", "mst.PrimLoop", "mst.ResultAssembly"))
+                recording.enable(name).withThreshold(java.time.Duration.ZERO);
+            recording.start();
+            AlgorithmResult kruskal = KruskalMST.run(graph);
+            AlgorithmResult prim = PrimMST.run(graph, HeapType.BINARY);
+            recording.stop();
+            recording.dump(file);
+
+            Map<String, String> engines = new HashMap<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getInt("graphId") != 40)
+                    continue;
+                assertEquals(200, event.getInt("vertices"));
+                assertEquals(graph.compact().edgeCount(), event.getInt("edges"));
+                engines.merge(event.getEventType().getName(), event.getString("engine"), (a, b) -> a + "," + b);
+            }
+            assertEquals(kruskal.engine, engines.get("mst.EdgeSort"));
+            assertEquals(kruskal.engine, engines.get("mst.UnionFindPass"));
+            assertEquals(prim.engine, engines.get("mst.PrimLoop"));
+            assertEquals(kruskal.engine + "," + prim.engine, engines.get("mst.ResultAssembly"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
     // ========================================
     // HELPER METHODS
     // ========================================
 
+    /**
+     * Random connected graph: a chain over all vertices plus random extra edges
+     */
+    private Graph randomGraph(int id, int vertices, int extraEdges, Random rand) {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < vertices; i++) {
+            nodes.add("V" + i);
+        }
+
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 1; i < vertices; i++) {
+            edges.add(new Edge("V" + (i - 1), "V" + i, rand.nextInt(100) + 1));
+        }
+        for (int k = 0; k < extraEdges; k++) {
+            int a = rand.nextInt(vertices);
+            int b = rand.nextInt(vertices);
+            if (a != b) {
+                edges.add(new Edge("V" + a, "V" + b, rand.nextInt(100) + 1));
+            }
+        }
+        return new Graph(id, nodes, edges);
+    }
+
     /**
      * Check if MST contains a cycle using DFS
      */
@@ -478,4 +1432,24 @@ public class MSTAlgorithmsTest {
 
         return visited.size() == nodes.size();
     }
-}
\ No newline at end of file
+
+    /**
+     * Deletes a temporary test directory and the files in it
+     */
+    private void deleteDirectory(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path f : (Iterable<Path>) files::iterator)
+                Files.delete(f);
+        }
+        Files.delete(dir);
+    }
+
+    /**
+     * Number of entries in a directory
+     */
+    private long countFiles(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}